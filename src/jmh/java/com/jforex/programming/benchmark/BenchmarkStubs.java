@@ -0,0 +1,156 @@
+package com.jforex.programming.benchmark;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.dukascopy.api.IAccount;
+import com.dukascopy.api.IBar;
+import com.dukascopy.api.IContext;
+import com.dukascopy.api.IDataService;
+import com.dukascopy.api.IEngine;
+import com.dukascopy.api.IHistory;
+import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+
+public final class BenchmarkStubs {
+
+    private BenchmarkStubs() {
+    }
+
+    public static final <T> T stub(final Class<T> classToStub) {
+        return new StubBuilder<>(classToStub).build();
+    }
+
+    public static final IContext context() {
+        return new StubBuilder<>(IContext.class)
+            .returning("getEngine", stub(IEngine.class))
+            .returning("getAccount", stub(IAccount.class))
+            .returning("getHistory", stub(IHistory.class))
+            .returning("getDataService", stub(IDataService.class))
+            .build();
+    }
+
+    public static final ITick tick(final double bid,
+                                   final double ask,
+                                   final long time) {
+        return new StubBuilder<>(ITick.class)
+            .returning("getBid", bid)
+            .returning("getAsk", ask)
+            .returning("getTime", time)
+            .build();
+    }
+
+    public static final IBar bar(final double open,
+                                 final double close,
+                                 final long time) {
+        return new StubBuilder<>(IBar.class)
+            .returning("getOpen", open)
+            .returning("getClose", close)
+            .returning("getLow", Math.min(open, close))
+            .returning("getHigh", Math.max(open, close))
+            .returning("getTime", time)
+            .build();
+    }
+
+    public static final IOrder order(final String label,
+                                     final Instrument instrument,
+                                     final IOrder.State state) {
+        return new StubBuilder<>(IOrder.class)
+            .returning("getLabel", label)
+            .returning("getInstrument", instrument)
+            .returning("getState", state)
+            .build();
+    }
+
+    public static final IMessage message(final IOrder order,
+                                         final IMessage.Type type,
+                                         final IMessage.Reason... reasons) {
+        return new StubBuilder<>(IMessage.class)
+            .returning("getOrder", order)
+            .returning("getType", type)
+            .returning("getReasons", reasons.length == 0
+                    ? Collections.emptySet()
+                    : EnumSet.copyOf(Arrays.asList(reasons)))
+            .build();
+    }
+
+    private static final class StubBuilder<T> {
+
+        private final Class<T> classToStub;
+        private final Map<String, Object> returnValueByMethod = new HashMap<>();
+
+        private StubBuilder(final Class<T> classToStub) {
+            this.classToStub = classToStub;
+        }
+
+        private final StubBuilder<T> returning(final String methodName,
+                                               final Object returnValue) {
+            returnValueByMethod.put(methodName, returnValue);
+            return this;
+        }
+
+        private final T build() {
+            final Map<String, Object> returnValues = new HashMap<>(returnValueByMethod);
+            final Object stub = Proxy.newProxyInstance(classToStub.getClassLoader(),
+                                                       new Class<?>[] { classToStub },
+                                                       (proxy, method, args) -> invoke(proxy,
+                                                                                       method,
+                                                                                       args,
+                                                                                       returnValues));
+            return classToStub.cast(stub);
+        }
+
+        private static final Object invoke(final Object proxy,
+                                           final Method method,
+                                           final Object[] args,
+                                           final Map<String, Object> returnValues) {
+            switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return proxy.getClass().getSimpleName() + returnValues;
+            default:
+                return returnValues.containsKey(method.getName())
+                        ? returnValues.get(method.getName())
+                        : defaultValue(method.getReturnType());
+            }
+        }
+
+        private static final Object defaultValue(final Class<?> returnType) {
+            if (returnType == boolean.class)
+                return false;
+            if (returnType == double.class)
+                return 0.0;
+            if (returnType == float.class)
+                return 0.0f;
+            if (returnType == long.class)
+                return 0L;
+            if (returnType == int.class)
+                return 0;
+            if (returnType == short.class)
+                return (short) 0;
+            if (returnType == byte.class)
+                return (byte) 0;
+            if (returnType == char.class)
+                return (char) 0;
+            if (returnType == Set.class)
+                return Collections.emptySet();
+            if (returnType == List.class)
+                return Collections.emptyList();
+            if (returnType == Map.class)
+                return Collections.emptyMap();
+            return null;
+        }
+    }
+}
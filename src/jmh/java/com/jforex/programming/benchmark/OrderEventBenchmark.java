@@ -0,0 +1,109 @@
+package com.jforex.programming.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.misc.JFHotPublisher;
+import com.jforex.programming.order.OrderUtilHandler;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallRequest;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventClassifier;
+import com.jforex.programming.order.event.OrderEventFactory;
+import com.jforex.programming.order.event.OrderEventGateway;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.event.OrderEventTypeMapper;
+import com.jforex.programming.order.event.OrderEventTypeDataFactory;
+
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEventBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int noOfPendingCalls;
+
+    private OrderEventFactory orderEventFactory;
+    private IMessage fillMessage;
+    private IMessage unrelatedMessage;
+    private IMessage closedBySLMessage;
+    private final OrderEventClassifier orderEventClassifier = new OrderEventClassifier();
+    private final Subject<IMessage> messageObservable = PublishSubject.create();
+
+    @Setup
+    public void setUp() {
+        final JFHotPublisher<OrderCallRequest> callRequestPublisher = new JFHotPublisher<>();
+        orderEventFactory = new OrderEventFactory(callRequestPublisher.observable());
+        final OrderEventGateway orderEventGateway = new OrderEventGateway(messageObservable,
+                                                                          orderEventFactory);
+        final OrderUtilHandler orderUtilHandler = new OrderUtilHandler(orderEventGateway,
+                                                                       new OrderEventTypeDataFactory(),
+                                                                       callRequestPublisher);
+
+        final IOrder filledOrder = BenchmarkStubs.order("Filled", Instrument.EURUSD, IOrder.State.FILLED);
+        fillMessage = BenchmarkStubs.message(filledOrder, IMessage.Type.ORDER_FILL_OK);
+        final IOrder unrelatedOrder = BenchmarkStubs.order("Unrelated", Instrument.EURUSD, IOrder.State.OPENED);
+        unrelatedMessage = BenchmarkStubs.message(unrelatedOrder, IMessage.Type.ORDER_SUBMIT_OK);
+        closedBySLMessage = BenchmarkStubs.message(filledOrder,
+                                                   IMessage.Type.ORDER_CLOSE_OK,
+                                                   IMessage.Reason.ORDER_CLOSED_BY_SL);
+
+        for (int i = 0; i < noOfPendingCalls; ++i) {
+            final IOrder pendingOrder = BenchmarkStubs.order("Pending" + i,
+                                                             Instrument.EURUSD,
+                                                             IOrder.State.CREATED);
+            orderUtilHandler
+                .callObservable(pendingOrder, OrderCallReason.SUBMIT)
+                .subscribe();
+        }
+    }
+
+    @Benchmark
+    public OrderEvent orderEventFactoryFromMessage() {
+        return orderEventFactory.fromMessage(fillMessage);
+    }
+
+    @Benchmark
+    public OrderEventType classifierByMessageType() {
+        return orderEventClassifier.classify(fillMessage);
+    }
+
+    @Benchmark
+    public OrderEventType classifierByMessageReason() {
+        return orderEventClassifier.classify(closedBySLMessage);
+    }
+
+    @Benchmark
+    public OrderEventType mapperByMessageReason() {
+        final Set<IMessage.Reason> reasons = closedBySLMessage.getReasons();
+        return reasons.size() == 1
+                ? OrderEventTypeMapper.byMessageReason(reasons.iterator().next())
+                : OrderEventTypeMapper.byMessageType(closedBySLMessage.getType(), closedBySLMessage.getOrder());
+    }
+
+    @Benchmark
+    public void callObservableFiltering() {
+        messageObservable.onNext(unrelatedMessage);
+    }
+}
@@ -0,0 +1,81 @@
+package com.jforex.programming.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.IHistory;
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.dukascopy.api.Period;
+import com.jforex.programming.misc.HistoryUtil;
+import com.jforex.programming.misc.JForexUtil;
+import com.jforex.programming.quote.BarParams;
+import com.jforex.programming.quote.BarQuote;
+import com.jforex.programming.quote.BarQuoteRepository;
+
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteBenchmark {
+
+    private JForexUtil jForexUtil;
+    private ITick tickEURUSD;
+    private BarQuoteRepository barQuoteRepository;
+    private BarParams liveBarParams;
+    private BarParams rolledUpBarParams;
+
+    @Setup
+    public void setUp() {
+        jForexUtil = new JForexUtil(BenchmarkStubs.context());
+        tickEURUSD = BenchmarkStubs.tick(1.1234, 1.1236, 0L);
+
+        final Subject<BarQuote> barQuoteObservable = PublishSubject.create();
+        barQuoteRepository = new BarQuoteRepository(barQuoteObservable,
+                                                    new HistoryUtil(BenchmarkStubs.stub(IHistory.class)),
+                                                    300);
+        liveBarParams = BarParams.of(Instrument.EURUSD, Period.ONE_MIN, OfferSide.ASK);
+        rolledUpBarParams = BarParams.of(Instrument.EURUSD, Period.FIVE_MINS, OfferSide.ASK);
+        for (int minute = 0; minute < 10; ++minute)
+            barQuoteObservable.onNext(new BarQuote(BenchmarkStubs.bar(1.1, 1.2, minute * 60000L),
+                                                   liveBarParams));
+    }
+
+    @Benchmark
+    public void jForexUtilOnTick() {
+        jForexUtil.onTick(Instrument.EURUSD, tickEURUSD);
+    }
+
+    @Benchmark
+    public double tickQuoteProviderAsk() {
+        return jForexUtil
+            .tickQuoteProvider()
+            .ask(Instrument.EURUSD);
+    }
+
+    @Benchmark
+    public BarQuote barQuoteRepositoryGet() {
+        return barQuoteRepository.get(liveBarParams);
+    }
+
+    @Benchmark
+    public BarQuote barQuoteRepositoryGetRolledUp() {
+        return barQuoteRepository.get(rolledUpBarParams);
+    }
+}
@@ -0,0 +1,121 @@
+package com.jforex.programming.misc;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.IContext;
+
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+
+public class CoalescingTaskQueue {
+
+    private final IContext context;
+    private final int maxBatchSize;
+    private final Queue<QueuedTask<?>> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger drainWip = new AtomicInteger();
+    private final AtomicLong batchCounter = new AtomicLong();
+    private final AtomicLong executedCounter = new AtomicLong();
+
+    private static final Logger logger = LogManager.getLogger(CoalescingTaskQueue.class);
+
+    public CoalescingTaskQueue(final IContext context,
+                               final int maxBatchSize) {
+        this.context = context;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public <T> Single<T> submit(final Callable<T> callable) {
+        return Single.create(emitter -> {
+            pendingTasks.offer(new QueuedTask<>(callable, emitter));
+            scheduleDrain();
+        });
+    }
+
+    public int pendingCount() {
+        return pendingTasks.size();
+    }
+
+    public long batchCount() {
+        return batchCounter.get();
+    }
+
+    public long executedCount() {
+        return executedCounter.get();
+    }
+
+    private final void scheduleDrain() {
+        if (drainWip.getAndIncrement() == 0)
+            executeDrainTask();
+    }
+
+    private final void executeDrainTask() {
+        try {
+            context.executeTask(this::drain);
+        } catch (final Exception e) {
+            logger.error("Failed to schedule task batch on strategy thread: " + e.getMessage());
+            failPending(e);
+        }
+    }
+
+    private final Boolean drain() {
+        batchCounter.incrementAndGet();
+        int missed = 1;
+        while (true) {
+            int executed = 0;
+            QueuedTask<?> queuedTask;
+            while (executed < maxBatchSize && (queuedTask = pendingTasks.poll()) != null) {
+                queuedTask.run();
+                ++executed;
+            }
+            executedCounter.addAndGet(executed);
+
+            if (executed == maxBatchSize && !pendingTasks.isEmpty()) {
+                executeDrainTask();
+                return true;
+            }
+            missed = drainWip.addAndGet(-missed);
+            if (missed == 0)
+                return true;
+        }
+    }
+
+    private final void failPending(final Throwable error) {
+        int missed = 1;
+        while (true) {
+            QueuedTask<?> queuedTask;
+            while ((queuedTask = pendingTasks.poll()) != null)
+                queuedTask.fail(error);
+
+            missed = drainWip.addAndGet(-missed);
+            if (missed == 0)
+                return;
+        }
+    }
+
+    private static final class QueuedTask<T> {
+
+        private final Callable<T> callable;
+        private final SingleEmitter<T> emitter;
+
+        public QueuedTask(final Callable<T> callable,
+                          final SingleEmitter<T> emitter) {
+            this.callable = callable;
+            this.emitter = emitter;
+        }
+
+        public void run() {
+            StrategyThreadTask.complete(callable, emitter);
+        }
+
+        public void fail(final Throwable error) {
+            emitter.onError(error);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.jforex.programming.misc;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -16,29 +18,99 @@ import com.dukascopy.api.JFException;
 import com.dukascopy.api.OfferSide;
 import com.dukascopy.api.Period;
 import com.jforex.programming.quote.BarParams;
+import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.quote.QuoteProviderException;
 import com.jforex.programming.quote.TickQuote;
 import com.jforex.programming.settings.UserSettings;
 
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.BehaviorSubject;
+import io.reactivex.subjects.Subject;
 
 public class HistoryUtil {
 
     private final IHistory history;
+    private final Scheduler warmUpScheduler;
+    private final RetryBudget historyRetryBudget = RetryBudget.of("history",
+                                                                  userSettings.historyRetryBudget(),
+                                                                  userSettings.retryBudgetWindow());
+    private final RetryPolicy historyRetryPolicy =
+            RetryPolicy
+                .of(userSettings.historyRetryBackoff(),
+                    userSettings.maxRetriesOnHistoryFail(),
+                    userSettings.delayOnHistoryFailRetry(),
+                    userSettings.maxDelayOnHistoryFailRetry(),
+                    TimeUnit.MILLISECONDS)
+                .withBudget(historyRetryBudget);
+    private final AtomicInteger requestedCounter = new AtomicInteger();
+    private final AtomicInteger completedCounter = new AtomicInteger();
+    private final AtomicInteger failedCounter = new AtomicInteger();
+    private final Subject<WarmUpProgress> warmUpProgressSubject =
+            BehaviorSubject.createDefault(new WarmUpProgress(0, 0, 0)).toSerialized();
 
     private static final UserSettings userSettings = JForexUtil.userSettings;
-    private static final long delayOnHistoryFailRetry = userSettings.delayOnHistoryFailRetry();
-    private static final int maxRetriesOnHistoryFail = userSettings.maxRetriesOnHistoryFail();
+    private static final int maxConcurrentHistoryRequests = userSettings.maxConcurrentHistoryRequests();
     private static final Logger logger = LogManager.getLogger(HistoryUtil.class);
 
     public HistoryUtil(final IHistory history) {
+        this(history, Schedulers.trampoline());
+    }
+
+    public HistoryUtil(final IHistory history,
+                       final Scheduler warmUpScheduler) {
         this.history = history;
+        this.warmUpScheduler = warmUpScheduler;
+    }
+
+    public Observable<WarmUpProgress> warmUpProgressObservable() {
+        return warmUpProgressSubject;
     }
 
     public Observable<TickQuote> tickQuotesObservable(final Set<Instrument> instruments) {
+        return warmUpObservable(instruments, this::tickQuoteObservable);
+    }
+
+    public Observable<BarQuote> barQuotesObservable(final Collection<BarParams> barParamsList) {
+        return warmUpObservable(barParamsList, this::barQuoteObservable);
+    }
+
+    private final <T, R> Observable<R> warmUpObservable(final Collection<T> requests,
+                                                        final Function<T, Observable<R>> historyCall) {
         return Observable
-            .fromIterable(instruments)
-            .flatMap(this::tickQuoteObservable);
+            .fromIterable(requests)
+            .doOnSubscribe(d -> onWarmUpProgress(requestedCounter, requests.size()))
+            .flatMap(request -> warmUpRequestObservable(request, historyCall),
+                     maxConcurrentHistoryRequests);
+    }
+
+    private final <T, R> Observable<R> warmUpRequestObservable(final T request,
+                                                               final Function<T, Observable<R>> historyCall)
+            throws Exception {
+        return historyCall
+            .apply(request)
+            .subscribeOn(warmUpScheduler)
+            .doOnComplete(() -> onWarmUpProgress(completedCounter, 1))
+            .onErrorResumeNext(err -> {
+                logger.error("History warm-up for " + request + " failed! " + err.getMessage());
+                onWarmUpProgress(failedCounter, 1);
+                return Observable.empty();
+            });
+    }
+
+    private final void onWarmUpProgress(final AtomicInteger counter,
+                                        final int delta) {
+        counter.addAndGet(delta);
+        warmUpProgressSubject.onNext(new WarmUpProgress(requestedCounter.get(),
+                                                        completedCounter.get(),
+                                                        failedCounter.get()));
+    }
+
+    private Observable<BarQuote> barQuoteObservable(final BarParams barParams) {
+        return latestBarObservable(barParams)
+            .map(bar -> new BarQuote(bar, barParams));
     }
 
     private Observable<TickQuote> tickQuoteObservable(final Instrument instrument) {
@@ -54,6 +126,10 @@ public class HistoryUtil {
             .retryWhen(this::retryOnHistoryFailObservable);
     }
 
+    public ITick latestTick(final Instrument instrument) {
+        return lastestTickObservable(instrument).blockingFirst();
+    }
+
     private ITick latestHistoryTick(final Instrument instrument) throws JFException {
         final ITick tick = history.getLastTick(instrument);
         if (tick == null)
@@ -62,6 +138,10 @@ public class HistoryUtil {
         return tick;
     }
 
+    public IBar latestBar(final BarParams barParams) {
+        return latestBarObservable(barParams).blockingFirst();
+    }
+
     public Observable<IBar> latestBarObservable(final BarParams barParams) {
         final Instrument instrument = barParams.instrument();
         final Period period = barParams.period();
@@ -90,8 +170,10 @@ public class HistoryUtil {
     public final Observable<Long> retryOnHistoryFailObservable(final Observable<? extends Throwable> errors) {
         return checkNotNull(errors)
             .cast(Throwable.class)
-            .compose(RxUtil.retryComposer(maxRetriesOnHistoryFail,
-                                          delayOnHistoryFailRetry,
-                                          TimeUnit.MILLISECONDS));
+            .compose(RxUtil.retryComposer(historyRetryPolicy));
+    }
+
+    public RetryBudget retryBudget() {
+        return historyRetryBudget;
     }
 }
@@ -0,0 +1,72 @@
+package com.jforex.programming.misc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableEmitter.BackpressureMode;
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+
+public final class JFHotFlowable<T> {
+
+    private final Flowable<T> flowable;
+    private final OverflowStrategy overflowStrategy;
+    private final int bufferSize;
+    private final AtomicLong overflowCounter = new AtomicLong();
+
+    private static final Map<OverflowStrategy, BackpressureOverflowStrategy> backpressureStrategyByOverflow =
+            Maps.immutableEnumMap(ImmutableMap.<OverflowStrategy, BackpressureOverflowStrategy> builder()
+                .put(OverflowStrategy.DROP_OLDEST, BackpressureOverflowStrategy.DROP_OLDEST)
+                .put(OverflowStrategy.LATEST, BackpressureOverflowStrategy.DROP_OLDEST)
+                .put(OverflowStrategy.ERROR, BackpressureOverflowStrategy.ERROR)
+                .put(OverflowStrategy.BUFFER_DROP_LATEST, BackpressureOverflowStrategy.DROP_LATEST)
+                .build());
+
+    public JFHotFlowable(final Observable<T> hotObservable,
+                         final OverflowStrategy overflowStrategy,
+                         final int bufferSize) {
+        checkArgument(bufferSize > 0, "Flowable buffer size must be positive!");
+
+        this.overflowStrategy = overflowStrategy;
+        this.bufferSize = bufferSize;
+
+        final Flowable<T> unboundedFlowable = Flowable.create(emitter -> {
+            final Disposable disposable = hotObservable.subscribe(emitter::onNext,
+                                                                  emitter::onError,
+                                                                  emitter::onComplete);
+            emitter.setDisposable(disposable);
+        }, BackpressureMode.NONE);
+        flowable = Flowable.fromPublisher(unboundedFlowable.onBackpressureBuffer(bufferCapacity(),
+                                                                                 overflowCounter::incrementAndGet,
+                                                                                 backpressureOverflowStrategy()));
+    }
+
+    public final Flowable<T> flowable() {
+        return flowable;
+    }
+
+    public final OverflowStrategy overflowStrategy() {
+        return overflowStrategy;
+    }
+
+    public final long overflowCount() {
+        return overflowCounter.get();
+    }
+
+    private final long bufferCapacity() {
+        return overflowStrategy == OverflowStrategy.LATEST
+                ? 1L
+                : bufferSize;
+    }
+
+    private final BackpressureOverflowStrategy backpressureOverflowStrategy() {
+        return backpressureStrategyByOverflow.get(overflowStrategy);
+    }
+}
@@ -2,8 +2,16 @@ package com.jforex.programming.misc;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 import org.aeonbits.owner.ConfigFactory;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import com.dukascopy.api.IAccount;
 import com.dukascopy.api.IBar;
@@ -14,6 +22,7 @@ import com.dukascopy.api.IHistory;
 import com.dukascopy.api.IMessage;
 import com.dukascopy.api.ITick;
 import com.dukascopy.api.Instrument;
+import com.dukascopy.api.JFException;
 import com.dukascopy.api.OfferSide;
 import com.dukascopy.api.Period;
 import com.jforex.programming.instrument.InstrumentUtil;
@@ -32,21 +41,33 @@ import com.jforex.programming.order.task.CancelSLTPTask;
 import com.jforex.programming.order.task.CancelTPTask;
 import com.jforex.programming.order.task.BatchChangeTask;
 import com.jforex.programming.order.task.CloseTask;
+import com.jforex.programming.order.task.EngineCallLimiter;
 import com.jforex.programming.order.task.MergeTask;
 import com.jforex.programming.order.task.TaskExecutor;
 import com.jforex.programming.order.task.CancelSLTPAndMergeTask;
+import com.jforex.programming.position.PortfolioView;
 import com.jforex.programming.position.PositionFactory;
+import com.jforex.programming.position.PositionSnapshotStore;
 import com.jforex.programming.position.PositionUtil;
 import com.jforex.programming.quote.BarParams;
 import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.quote.BarQuoteProvider;
 import com.jforex.programming.quote.BarQuoteRepository;
+import com.jforex.programming.quote.MapTickQuoteRepository;
+import com.jforex.programming.quote.PrimitiveTickQuoteRepository;
+import com.jforex.programming.quote.TickBufferRepository;
 import com.jforex.programming.quote.TickQuote;
 import com.jforex.programming.quote.TickQuoteProvider;
 import com.jforex.programming.quote.TickQuoteRepository;
 import com.jforex.programming.settings.PlatformSettings;
 import com.jforex.programming.settings.UserSettings;
 
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Consumer;
+import io.reactivex.schedulers.Schedulers;
+
 public class JForexUtil {
 
     private final IContext context;
@@ -58,14 +79,20 @@ public class JForexUtil {
 
     private TickQuoteProvider tickQuoteProvider;
     private TickQuoteRepository tickQuoteRepository;
+    private Optional<PrimitiveTickQuoteRepository> maybePrimitiveTickQuoteRepository = Optional.empty();
+    private Optional<TickBufferRepository> maybeTickBufferRepository = Optional.empty();
     private BarQuoteProvider barQuoteProvider;
     private BarQuoteRepository barQuoteRepository;
 
     private PositionFactory positionFactory;
     private PositionUtil positionUtil;
+    private PortfolioView portfolioView;
+    private PositionSnapshotStore positionSnapshotStore;
+    private Disposable positionSnapshotDisposable;
     private OrderEventGateway orderEventGateway;
     private StrategyThreadTask strategyThreadTask;
     private TaskExecutor orderTaskExecutor;
+    private EngineCallLimiter engineCallLimiter;
     private OrderUtilHandler orderUtilHandler;
     private BasicTask orderBasicTask;
     private BatchChangeTask orderChangeBatch;
@@ -79,6 +106,16 @@ public class JForexUtil {
     private CancelTPTask orderCancelTP;
     private OrderUtil orderUtil;
     private OrderEventFactory orderEventFactory;
+    private final RetryPolicy orderRetryPolicy =
+            RetryPolicy
+                .of(userSettings.orderRetryBackoff(),
+                    userSettings.maxRetriesOnOrderFail(),
+                    userSettings.delayOnOrderFailRetry(),
+                    userSettings.maxDelayOnOrderFailRetry(),
+                    TimeUnit.MILLISECONDS)
+                .withBudget(RetryBudget.of("order",
+                                           userSettings.orderRetryBudget(),
+                                           userSettings.retryBudgetWindow()));
     private final CalculationUtil calculationUtil;
     private final OrderEventTypeDataFactory orderEventTypeDataFactory = new OrderEventTypeDataFactory();
 
@@ -86,10 +123,28 @@ public class JForexUtil {
     private final JFHotPublisher<BarQuote> barQuotePublisher = new JFHotPublisher<>();
     private final JFHotPublisher<IMessage> messagePublisher = new JFHotPublisher<>();
     private final JFHotPublisher<OrderCallRequest> callRequestPublisher = new JFHotPublisher<>();
+    private final SubscriberLaneFactory subscriberLaneFactory =
+            new SubscriberLaneFactory(userSettings.subscriberLanePoolSize(),
+                                      userSettings.subscriberLaneRingSize());
+    private final WorkflowExecutor workflowExecutor = new WorkflowExecutor(userSettings.preferVirtualThreads());
+    private final JFHotFlowable<TickQuote> tickQuoteFlowable =
+            new JFHotFlowable<>(tickQuotePublisher.observable(),
+                                userSettings.tickOverflowStrategy(),
+                                userSettings.tickFlowableBufferSize());
+    private final JFHotFlowable<BarQuote> barQuoteFlowable =
+            new JFHotFlowable<>(barQuotePublisher.observable(),
+                                userSettings.barOverflowStrategy(),
+                                userSettings.barFlowableBufferSize());
+    private final JFHotFlowable<IMessage> messageFlowable =
+            new JFHotFlowable<>(messagePublisher.observable(),
+                                userSettings.messageOverflowStrategy(),
+                                userSettings.messageFlowableBufferSize());
 
     public static final PlatformSettings platformSettings = ConfigFactory.create(PlatformSettings.class);
     public static final UserSettings userSettings = ConfigFactory.create(UserSettings.class);
 
+    private static final Logger logger = LogManager.getLogger(JForexUtil.class);
+
     public JForexUtil(final IContext context) {
         this.context = checkNotNull(context);
 
@@ -99,6 +154,8 @@ public class JForexUtil {
         initOrderRelated();
 
         calculationUtil = new CalculationUtil(tickQuoteProvider);
+        if (userSettings.enablePositionSnapshot())
+            initPositionSnapshot();
     }
 
     private void initContextRelated() {
@@ -107,7 +164,7 @@ public class JForexUtil {
         history = context.getHistory();
         dataService = context.getDataService();
 
-        historyUtil = new HistoryUtil(history);
+        historyUtil = new HistoryUtil(history, Schedulers.io());
     }
 
     private void initInfrastructure() {
@@ -116,42 +173,103 @@ public class JForexUtil {
     }
 
     private void initQuoteProvider() {
-        tickQuoteRepository = new TickQuoteRepository(tickQuotePublisher.observable(),
-                                                      historyUtil,
-                                                      context.getSubscribedInstruments());
+        tickQuoteRepository = createTickQuoteRepository();
+        if (userSettings.tickBufferCapacity() > 0)
+            maybeTickBufferRepository = Optional.of(new TickBufferRepository(tickQuotePublisher.observable(),
+                                                                             userSettings.tickBufferCapacity()));
         tickQuoteProvider = new TickQuoteProvider(tickQuotePublisher.observable(), tickQuoteRepository);
-        barQuoteRepository = new BarQuoteRepository(barQuotePublisher.observable(), historyUtil);
+        barQuoteRepository = new BarQuoteRepository(barQuotePublisher.observable(),
+                                                    historyUtil,
+                                                    userSettings.barBufferCapacity());
         barQuoteProvider = new BarQuoteProvider(this,
                                                 barQuotePublisher.observable(),
                                                 barQuoteRepository);
     }
 
+    private TickQuoteRepository createTickQuoteRepository() {
+        final Observable<TickQuote> tickQuoteObservable = tickQuotePublisher.observable();
+        final Set<Instrument> subscribedInstruments = context.getSubscribedInstruments();
+
+        if (!userSettings.usePrimitiveTickRepository())
+            return new MapTickQuoteRepository(tickQuoteObservable,
+                                              historyUtil,
+                                              subscribedInstruments);
+
+        final PrimitiveTickQuoteRepository primitiveTickQuoteRepository =
+                new PrimitiveTickQuoteRepository(historyUtil, subscribedInstruments);
+        maybePrimitiveTickQuoteRepository = Optional.of(primitiveTickQuoteRepository);
+        return primitiveTickQuoteRepository;
+    }
+
     private void initOrderRelated() {
-        strategyThreadTask = new StrategyThreadTask(context);
+        final int maxConcurrentBatchCalls = userSettings.maxConcurrentBatchCalls();
+        strategyThreadTask = new StrategyThreadTask(context, userSettings.strategyThreadBatchSize());
         positionFactory = new PositionFactory(orderEventGateway.observable());
         positionUtil = new PositionUtil(positionFactory);
         orderUtilHandler = new OrderUtilHandler(orderEventGateway,
                                                 orderEventTypeDataFactory,
                                                 callRequestPublisher);
-        orderTaskExecutor = new TaskExecutor(strategyThreadTask, engine);
+        orderTaskExecutor = userSettings.enableEngineCallLimiter()
+                ? new TaskExecutor(strategyThreadTask,
+                                   engine,
+                                   createEngineCallLimiter())
+                : new TaskExecutor(strategyThreadTask, engine);
         orderBasicTask = new BasicTask(orderTaskExecutor, orderUtilHandler);
-        orderChangeBatch = new BatchChangeTask(orderBasicTask);
+        orderChangeBatch = new BatchChangeTask(orderBasicTask, maxConcurrentBatchCalls);
         orderCancelSL = new CancelSLTask(orderChangeBatch);
         orderCancelTP = new CancelTPTask(orderChangeBatch);
         orderCancelSLAndTP = new CancelSLTPTask(orderCancelSL, orderCancelTP);
         mergeCommandHandler = new MergeCommandHandler(orderCancelSLAndTP, orderBasicTask);
         cancelAndMergeSplitter = new CancelSLTPAndMergeTask(mergeCommandHandler);
-        orderMergeTask = new MergeTask(cancelAndMergeSplitter, positionUtil);
+        orderMergeTask = new MergeTask(cancelAndMergeSplitter,
+                                       positionUtil,
+                                       maxConcurrentBatchCalls);
         closePositionCommandHandler = new ClosePositionCommandHandler(orderMergeTask,
                                                                       orderChangeBatch,
                                                                       positionUtil);
-        orderCloseTask = new CloseTask(closePositionCommandHandler, positionUtil);
+        orderCloseTask = new CloseTask(closePositionCommandHandler,
+                                       positionUtil,
+                                       maxConcurrentBatchCalls);
         orderUtil = new OrderUtil(orderBasicTask,
                                   orderMergeTask,
                                   orderCloseTask,
                                   positionUtil);
     }
 
+    private void initPositionSnapshot() {
+        positionSnapshotStore = new PositionSnapshotStore(Paths.get(userSettings.positionSnapshotFile()),
+                                                          positionFactory,
+                                                          orderEventFactory);
+        restorePositionSnapshot();
+
+        final long intervalSeconds = userSettings.positionSnapshotIntervalSeconds();
+        positionSnapshotDisposable = Observable
+            .interval(intervalSeconds, intervalSeconds, TimeUnit.SECONDS, Schedulers.io())
+            .subscribe(tick -> positionSnapshotStore.write(),
+                       e -> logger.error("Periodic position snapshot failed! " + e.getMessage()));
+    }
+
+    private void restorePositionSnapshot() {
+        try {
+            positionSnapshotStore.restore(engine.getOrders());
+        } catch (final JFException e) {
+            logger.error("Unable to get engine orders for position snapshot restore! " + e.getMessage());
+        }
+    }
+
+    private EngineCallLimiter createEngineCallLimiter() {
+        engineCallLimiter = new EngineCallLimiter(orderEventGateway.observable(),
+                                                  userSettings.minEngineCallsPerSecond(),
+                                                  userSettings.maxEngineCallsPerSecond(),
+                                                  userSettings.engineCallBurstSize(),
+                                                  Schedulers.computation());
+        return engineCallLimiter;
+    }
+
+    public Optional<EngineCallLimiter> engineCallLimiter() {
+        return Optional.ofNullable(engineCallLimiter);
+    }
+
     public IContext context() {
         return context;
     }
@@ -172,10 +290,47 @@ public class JForexUtil {
         return historyUtil;
     }
 
+    public Observable<WarmUpProgress> historyWarmUpProgress() {
+        return historyUtil.warmUpProgressObservable();
+    }
+
     public TickQuoteProvider tickQuoteProvider() {
         return tickQuoteProvider;
     }
 
+    public Optional<TickBufferRepository> tickBufferRepository() {
+        return maybeTickBufferRepository;
+    }
+
+    public Flowable<TickQuote> tickQuoteFlowable() {
+        return tickQuoteFlowable.flowable();
+    }
+
+    public Flowable<BarQuote> barQuoteFlowable() {
+        return barQuoteFlowable.flowable();
+    }
+
+    public Flowable<IMessage> messageFlowable() {
+        return messageFlowable.flowable();
+    }
+
+    public <T> SubscriberLane<T> subscribeOffStrategyThread(final Observable<T> hotObservable,
+                                                            final Consumer<T> consumer) {
+        return subscriberLaneFactory.create(hotObservable, consumer);
+    }
+
+    public List<SubscriberLane<?>> subscriberLanes() {
+        return subscriberLaneFactory.lanes();
+    }
+
+    public RetryPolicy orderRetryPolicy() {
+        return orderRetryPolicy;
+    }
+
+    public WorkflowExecutor workflowExecutor() {
+        return workflowExecutor;
+    }
+
     public BarQuoteProvider barQuoteProvider() {
         return barQuoteProvider;
     }
@@ -199,7 +354,29 @@ public class JForexUtil {
         return positionUtil;
     }
 
+    public synchronized PortfolioView portfolioView() {
+        if (portfolioView == null) {
+            portfolioView = new PortfolioView(positionFactory,
+                                              orderEventGateway.observable(),
+                                              tickQuoteProvider,
+                                              calculationUtil,
+                                              account);
+            portfolioView.recalculateAll();
+        }
+        return portfolioView;
+    }
+
+    public Optional<PositionSnapshotStore> positionSnapshotStore() {
+        return Optional.ofNullable(positionSnapshotStore);
+    }
+
     public void onStop() {
+        if (positionSnapshotStore != null) {
+            positionSnapshotDisposable.dispose();
+            positionSnapshotStore.write();
+        }
+        subscriberLaneFactory.shutdown();
+        workflowExecutor.shutdown();
         tickQuotePublisher.unsubscribe();
         barQuotePublisher.unsubscribe();
         messagePublisher.unsubscribe();
@@ -216,6 +393,8 @@ public class JForexUtil {
         checkNotNull(tick);
 
         if (shouldForwardQuote(tick.getTime())) {
+            if (maybePrimitiveTickQuoteRepository.isPresent())
+                maybePrimitiveTickQuoteRepository.get().onTick(instrument, tick);
             final TickQuote tickQuote = new TickQuote(instrument, tick);
             tickQuotePublisher.onNext(tickQuote);
         }
@@ -251,10 +430,9 @@ public class JForexUtil {
                                        final OfferSide offerside,
                                        final IBar askBar) {
         if (shouldForwardQuote(askBar.getTime())) {
-            final BarParams quoteParams = BarParams
-                .forInstrument(instrument)
-                .period(period)
-                .offerSide(offerside);
+            final BarParams quoteParams = BarParams.of(instrument,
+                                                       period,
+                                                       offerside);
             final BarQuote askBarQuote = new BarQuote(askBar, quoteParams);
             barQuotePublisher.onNext(askBarQuote);
         }
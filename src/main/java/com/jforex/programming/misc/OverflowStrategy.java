@@ -0,0 +1,9 @@
+package com.jforex.programming.misc;
+
+public enum OverflowStrategy {
+
+    DROP_OLDEST,
+    LATEST,
+    ERROR,
+    BUFFER_DROP_LATEST
+}
@@ -0,0 +1,8 @@
+package com.jforex.programming.misc;
+
+public enum RetryBackoff {
+
+    CONSTANT,
+    EXPONENTIAL,
+    DECORRELATED_JITTER
+}
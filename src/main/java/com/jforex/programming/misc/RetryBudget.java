@@ -0,0 +1,85 @@
+package com.jforex.programming.misc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.schedulers.Schedulers;
+
+public class RetryBudget {
+
+    private final String name;
+    private final double maxRetries;
+    private final double windowMillis;
+    private final AtomicLong retriesIssued = new AtomicLong();
+    private final AtomicLong exhaustedCount = new AtomicLong();
+    private double availableRetries;
+    private long lastRefillMillis;
+
+    public RetryBudget(final String name,
+                       final int maxRetriesPerWindow,
+                       final long windowMillis) {
+        this.name = name;
+        this.maxRetries = maxRetriesPerWindow;
+        this.windowMillis = windowMillis;
+
+        availableRetries = maxRetriesPerWindow;
+        lastRefillMillis = nowMillis();
+    }
+
+    public static final RetryBudget of(final String name,
+                                       final int maxRetriesPerWindow,
+                                       final long windowMillis) {
+        return maxRetriesPerWindow > 0
+                ? new RetryBudget(name,
+                                  maxRetriesPerWindow,
+                                  windowMillis)
+                : unlimited(name);
+    }
+
+    public static final RetryBudget unlimited(final String name) {
+        return new RetryBudget(name,
+                               Integer.MAX_VALUE,
+                               1L);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (availableRetries < 1.0) {
+            exhaustedCount.incrementAndGet();
+            return false;
+        }
+
+        availableRetries -= 1.0;
+        retriesIssued.incrementAndGet();
+        return true;
+    }
+
+    public synchronized double availableRetries() {
+        refill();
+        return availableRetries;
+    }
+
+    public long retriesIssued() {
+        return retriesIssued.get();
+    }
+
+    public long exhaustedCount() {
+        return exhaustedCount.get();
+    }
+
+    private final void refill() {
+        final long now = nowMillis();
+        availableRetries = Math.min(maxRetries, availableRetries + (now - lastRefillMillis) * maxRetries / windowMillis);
+        lastRefillMillis = now;
+    }
+
+    private final long nowMillis() {
+        return Schedulers
+            .computation()
+            .now(TimeUnit.MILLISECONDS);
+    }
+}
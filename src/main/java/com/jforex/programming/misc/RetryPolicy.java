@@ -0,0 +1,140 @@
+package com.jforex.programming.misc;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+public final class RetryPolicy {
+
+    private final RetryBackoff backoff;
+    private final int noOfRetries;
+    private final long baseDelay;
+    private final long maxDelay;
+    private final TimeUnit timeUnit;
+    private final RetryBudget retryBudget;
+
+    private static final Map<RetryBackoff, DelayFunction> delayByBackoff =
+            Maps.immutableEnumMap(ImmutableMap.<RetryBackoff, DelayFunction> builder()
+                .put(RetryBackoff.CONSTANT, RetryPolicy::constantDelay)
+                .put(RetryBackoff.EXPONENTIAL, RetryPolicy::exponentialDelay)
+                .put(RetryBackoff.DECORRELATED_JITTER, RetryPolicy::decorrelatedJitterDelay)
+                .build());
+
+    private RetryPolicy(final RetryBackoff backoff,
+                        final int noOfRetries,
+                        final long baseDelay,
+                        final long maxDelay,
+                        final TimeUnit timeUnit,
+                        final RetryBudget retryBudget) {
+        this.backoff = backoff;
+        this.noOfRetries = noOfRetries;
+        this.baseDelay = baseDelay;
+        this.maxDelay = Math.max(baseDelay, maxDelay);
+        this.timeUnit = timeUnit;
+        this.retryBudget = retryBudget;
+    }
+
+    public static final RetryPolicy of(final RetryBackoff backoff,
+                                       final int noOfRetries,
+                                       final long baseDelay,
+                                       final long maxDelay,
+                                       final TimeUnit timeUnit) {
+        checkNotNull(backoff);
+        checkNotNull(timeUnit);
+
+        return new RetryPolicy(backoff,
+                               noOfRetries,
+                               baseDelay,
+                               maxDelay,
+                               timeUnit,
+                               RetryBudget.unlimited(backoff.toString()));
+    }
+
+    public static final RetryPolicy constant(final int noOfRetries,
+                                             final long delay,
+                                             final TimeUnit timeUnit) {
+        return of(RetryBackoff.CONSTANT,
+                  noOfRetries,
+                  delay,
+                  delay,
+                  timeUnit);
+    }
+
+    public final RetryPolicy withBudget(final RetryBudget retryBudget) {
+        return new RetryPolicy(backoff,
+                               noOfRetries,
+                               baseDelay,
+                               maxDelay,
+                               timeUnit,
+                               checkNotNull(retryBudget));
+    }
+
+    public final RetryBackoff backoff() {
+        return backoff;
+    }
+
+    public final int noOfRetries() {
+        return noOfRetries;
+    }
+
+    public final long baseDelay() {
+        return baseDelay;
+    }
+
+    public final long maxDelay() {
+        return maxDelay;
+    }
+
+    public final TimeUnit timeUnit() {
+        return timeUnit;
+    }
+
+    public final RetryBudget retryBudget() {
+        return retryBudget;
+    }
+
+    public final long delay(final int retry,
+                            final long previousDelay) {
+        return delayByBackoff
+            .get(backoff)
+            .delay(this, retry, previousDelay);
+    }
+
+    private final long constantDelay(final int retry,
+                                     final long previousDelay) {
+        return baseDelay;
+    }
+
+    private final long exponentialDelay(final int retry,
+                                        final long previousDelay) {
+        if (baseDelay == 0L)
+            return 0L;
+
+        final int shift = Math.min(retry - 1, Long.SIZE - 2);
+        final long delay = baseDelay << shift;
+        return delay <= 0L || delay >= maxDelay || (delay >> shift) != baseDelay
+                ? maxDelay
+                : delay;
+    }
+
+    private final long decorrelatedJitterDelay(final int retry,
+                                               final long previousDelay) {
+        final long upperBound = Math.max(baseDelay + 1L, Math.min(maxDelay, previousDelay * 3L) + 1L);
+        return Math.min(maxDelay, ThreadLocalRandom
+            .current()
+            .nextLong(baseDelay, upperBound));
+    }
+
+    @FunctionalInterface
+    private interface DelayFunction {
+
+        public long delay(RetryPolicy retryPolicy,
+                          int retry,
+                          long previousDelay);
+    }
+}
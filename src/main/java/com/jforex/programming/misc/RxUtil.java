@@ -1,11 +1,13 @@
 package com.jforex.programming.misc;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.tuple.Pair;
 
 import io.reactivex.Observable;
 import io.reactivex.ObservableTransformer;
+import io.reactivex.functions.BiConsumer;
 
 public final class RxUtil {
 
@@ -15,11 +17,41 @@ public final class RxUtil {
     public static final ObservableTransformer<Throwable, Long> retryComposer(final int noOfRetries,
                                                                              final long delay,
                                                                              final TimeUnit timeUnit) {
-        return errors -> errors
-            .zipWith(counterObservable(noOfRetries), Pair::of)
-            .flatMap(retryPair -> retryPair.getRight() > noOfRetries
-                    ? Observable.error(retryPair.getLeft())
-                    : waitObservable(delay, timeUnit));
+        return retryComposer(RetryPolicy.constant(noOfRetries,
+                                                  delay,
+                                                  timeUnit));
+    }
+
+    public static final ObservableTransformer<Throwable, Long> retryComposer(final RetryPolicy retryPolicy) {
+        return retryComposer(retryPolicy, (error, delay) -> {});
+    }
+
+    public static final ObservableTransformer<Throwable, Long> retryComposer(final RetryPolicy retryPolicy,
+                                                                             final BiConsumer<Throwable, Long> retryAction) {
+        return errors -> {
+            final AtomicLong previousDelay = new AtomicLong(retryPolicy.baseDelay());
+            return errors
+                .zipWith(counterObservable(retryPolicy.noOfRetries()), Pair::of)
+                .flatMap(retryPair -> {
+                    if (retryPair.getRight() > retryPolicy.noOfRetries()
+                            || !retryPolicy.retryBudget().tryAcquire())
+                        return Observable.error(retryPair.getLeft());
+
+                    final long delay = nextDelay(retryPolicy,
+                                                 retryPair.getRight(),
+                                                 previousDelay);
+                    retryAction.accept(retryPair.getLeft(), delay);
+                    return waitObservable(delay, retryPolicy.timeUnit());
+                });
+        };
+    }
+
+    private static final long nextDelay(final RetryPolicy retryPolicy,
+                                        final int retry,
+                                        final AtomicLong previousDelay) {
+        final long delay = retryPolicy.delay(retry, previousDelay.get());
+        previousDelay.set(delay);
+        return delay;
     }
 
     public static final Observable<Integer> counterObservable(final int maxRetries) {
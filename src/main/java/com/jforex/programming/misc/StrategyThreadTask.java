@@ -1,19 +1,30 @@
 package com.jforex.programming.misc;
 
+import java.util.Optional;
 import java.util.concurrent.Callable;
 
 import com.dukascopy.api.IContext;
 
 import io.reactivex.Completable;
 import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
 import io.reactivex.functions.Action;
 
 public class StrategyThreadTask {
 
     private final IContext context;
+    private final Optional<CoalescingTaskQueue> maybeTaskQueue;
 
     public StrategyThreadTask(final IContext context) {
+        this(context, 0);
+    }
+
+    public StrategyThreadTask(final IContext context,
+                              final int coalescedBatchSize) {
         this.context = context;
+        maybeTaskQueue = coalescedBatchSize > 0
+                ? Optional.of(new CoalescingTaskQueue(context, coalescedBatchSize))
+                : Optional.empty();
     }
 
     public Completable execute(final Action action) {
@@ -24,8 +35,33 @@ public class StrategyThreadTask {
     }
 
     public <T> Single<T> execute(final Callable<T> callable) {
-        return JForexUtil.isStrategyThread()
-                ? Single.fromCallable(callable)
-                : Single.defer(() -> Single.fromFuture(context.executeTask(callable)));
+        if (JForexUtil.isStrategyThread())
+            return Single.fromCallable(callable);
+
+        return maybeTaskQueue.isPresent()
+                ? maybeTaskQueue.get().submit(callable)
+                : Single.create(emitter -> context.executeTask(() -> {
+                    complete(callable, emitter);
+                    return true;
+                }));
+    }
+
+    static final <T> void complete(final Callable<T> callable,
+                                   final SingleEmitter<T> emitter) {
+        if (emitter.isDisposed())
+            return;
+
+        final T result;
+        try {
+            result = callable.call();
+        } catch (final Exception e) {
+            emitter.onError(e);
+            return;
+        }
+        emitter.onSuccess(result);
+    }
+
+    public Optional<CoalescingTaskQueue> taskQueue() {
+        return maybeTaskQueue;
     }
 }
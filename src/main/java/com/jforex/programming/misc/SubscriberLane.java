@@ -0,0 +1,164 @@
+package com.jforex.programming.misc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Consumer;
+
+public class SubscriberLane<T> {
+
+    private final Consumer<T> consumer;
+    private final Executor executor;
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray publishNanos;
+    private final AtomicLong producerSequence = new AtomicLong();
+    private final AtomicLong consumerSequence = new AtomicLong();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicLong handedOffCounter = new AtomicLong();
+    private final AtomicLong droppedCounter = new AtomicLong();
+    private final AtomicLong totalHandoffNanos = new AtomicLong();
+    private final AtomicLong maxHandoffNanos = new AtomicLong();
+    private final Consumer<SubscriberLane<T>> disposeAction;
+    private final Disposable disposable;
+
+    private static final Logger logger = LogManager.getLogger(SubscriberLane.class);
+
+    public SubscriberLane(final Observable<T> hotObservable,
+                          final Consumer<T> consumer,
+                          final Executor executor,
+                          final int ringSize) {
+        this(hotObservable,
+             consumer,
+             executor,
+             ringSize,
+             lane -> {});
+    }
+
+    SubscriberLane(final Observable<T> hotObservable,
+                   final Consumer<T> consumer,
+                   final Executor executor,
+                   final int ringSize,
+                   final Consumer<SubscriberLane<T>> disposeAction) {
+        checkArgument(ringSize > 0 && Integer.bitCount(ringSize) == 1,
+                      "Ring size must be a positive power of two!");
+
+        this.consumer = consumer;
+        this.executor = executor;
+        this.disposeAction = disposeAction;
+        capacity = ringSize;
+        mask = ringSize - 1;
+        slots = new AtomicReferenceArray<>(ringSize);
+        publishNanos = new AtomicLongArray(ringSize);
+
+        disposable = hotObservable.subscribe(this::publish);
+    }
+
+    private final void publish(final T item) {
+        final long sequence = producerSequence.get();
+        if (sequence - consumerSequence.get() >= capacity) {
+            droppedCounter.incrementAndGet();
+            return;
+        }
+
+        final int index = (int) (sequence & mask);
+        publishNanos.set(index, System.nanoTime());
+        producerSequence.set(sequence + 1);
+        slots.set(index, item);
+
+        if (drainRequests.getAndIncrement() == 0)
+            executor.execute(this::drain);
+    }
+
+    private final void drain() {
+        int missedRequests = 1;
+        while (true) {
+            consumeAvailable();
+            missedRequests = drainRequests.addAndGet(-missedRequests);
+            if (missedRequests == 0)
+                return;
+        }
+    }
+
+    private final void consumeAvailable() {
+        while (true) {
+            final int index = (int) (consumerSequence.get() & mask);
+            final T item = slots.get(index);
+            if (item == null)
+                return;
+
+            recordHandoff(System.nanoTime() - publishNanos.get(index));
+            slots.set(index, null);
+            consumerSequence.incrementAndGet();
+            accept(item);
+        }
+    }
+
+    private final void recordHandoff(final long handoffNanos) {
+        handedOffCounter.incrementAndGet();
+        totalHandoffNanos.addAndGet(handoffNanos);
+        maxHandoffNanos.accumulateAndGet(handoffNanos, Math::max);
+    }
+
+    private final void accept(final T item) {
+        try {
+            consumer.accept(item);
+        } catch (final Exception e) {
+            logger.error("Subscriber lane consumer failed for " + item + "! " + e.getMessage());
+        }
+    }
+
+    public void dispose() {
+        if (disposable.isDisposed())
+            return;
+
+        disposable.dispose();
+        try {
+            disposeAction.accept(this);
+        } catch (final Exception e) {
+            logger.error("Subscriber lane dispose action failed! " + e.getMessage());
+        }
+    }
+
+    public boolean isDisposed() {
+        return disposable.isDisposed();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long queueDepth() {
+        return producerSequence.get() - consumerSequence.get();
+    }
+
+    public long handedOffCount() {
+        return handedOffCounter.get();
+    }
+
+    public long droppedCount() {
+        return droppedCounter.get();
+    }
+
+    public long maxHandoffNanos() {
+        return maxHandoffNanos.get();
+    }
+
+    public long averageHandoffNanos() {
+        final long handedOff = handedOffCounter.get();
+        return handedOff == 0L
+                ? 0L
+                : totalHandoffNanos.get() / handedOff;
+    }
+}
@@ -0,0 +1,79 @@
+package com.jforex.programming.misc;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.reactivex.Observable;
+import io.reactivex.functions.Consumer;
+
+public class SubscriberLaneFactory {
+
+    private final int sharedPoolSize;
+    private final int ringSize;
+    private final List<SubscriberLane<?>> lanes = new CopyOnWriteArrayList<>();
+    private final List<ExecutorService> executors = new CopyOnWriteArrayList<>();
+    private ExecutorService sharedExecutor;
+
+    private static final ThreadFactory laneThreadFactory = new ThreadFactoryBuilder()
+        .setNameFormat("JFSubscriberLane-%d")
+        .setDaemon(true)
+        .build();
+
+    public SubscriberLaneFactory(final int sharedPoolSize,
+                                 final int ringSize) {
+        this.sharedPoolSize = sharedPoolSize;
+        this.ringSize = ringSize;
+    }
+
+    public <T> SubscriberLane<T> create(final Observable<T> hotObservable,
+                                        final Consumer<T> consumer) {
+        checkNotNull(hotObservable);
+        checkNotNull(consumer);
+
+        final ExecutorService executor = laneExecutor();
+        final SubscriberLane<T> lane = new SubscriberLane<>(hotObservable,
+                                                            consumer,
+                                                            executor,
+                                                            ringSize,
+                                                            disposedLane -> onLaneDisposed(disposedLane, executor));
+        lanes.add(lane);
+        return lane;
+    }
+
+    private final void onLaneDisposed(final SubscriberLane<?> lane,
+                                      final ExecutorService executor) {
+        lanes.remove(lane);
+        if (executor != sharedExecutor && executors.remove(executor))
+            executor.shutdown();
+    }
+
+    public List<SubscriberLane<?>> lanes() {
+        return lanes;
+    }
+
+    private synchronized final ExecutorService laneExecutor() {
+        if (sharedPoolSize <= 0)
+            return registerExecutor(Executors.newSingleThreadExecutor(laneThreadFactory));
+
+        if (sharedExecutor == null)
+            sharedExecutor = registerExecutor(Executors.newFixedThreadPool(sharedPoolSize, laneThreadFactory));
+        return sharedExecutor;
+    }
+
+    private final ExecutorService registerExecutor(final ExecutorService executor) {
+        executors.add(executor);
+        return executor;
+    }
+
+    public void shutdown() {
+        lanes.forEach(SubscriberLane::dispose);
+        executors.forEach(ExecutorService::shutdown);
+    }
+}
@@ -0,0 +1,78 @@
+package com.jforex.programming.misc;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+public final class WarmUpProgress {
+
+    private final int requested;
+    private final int completed;
+    private final int failed;
+
+    public WarmUpProgress(final int requested,
+                          final int completed,
+                          final int failed) {
+        this.requested = requested;
+        this.completed = completed;
+        this.failed = failed;
+    }
+
+    public final int requested() {
+        return requested;
+    }
+
+    public final int completed() {
+        return completed;
+    }
+
+    public final int failed() {
+        return failed;
+    }
+
+    public final int pending() {
+        return requested - completed - failed;
+    }
+
+    public final boolean isDone() {
+        return pending() == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        final HashCodeBuilder builder = new HashCodeBuilder();
+        builder.append(requested);
+        builder.append(completed);
+        builder.append(failed);
+
+        return builder.toHashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof WarmUpProgress))
+            return false;
+
+        final WarmUpProgress other = (WarmUpProgress) obj;
+        final EqualsBuilder builder = new EqualsBuilder();
+        builder.append(requested, other.requested);
+        builder.append(completed, other.completed);
+        builder.append(failed, other.failed);
+        return builder.isEquals();
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder toStringBuilder = new ToStringBuilder(this, ToStringStyle.DEFAULT_STYLE);
+        toStringBuilder.append("requested", requested);
+        toStringBuilder.append("completed", completed);
+        toStringBuilder.append("failed", failed);
+
+        return toStringBuilder.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package com.jforex.programming.misc;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.reactivex.Completable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.functions.Action;
+import io.reactivex.schedulers.Schedulers;
+
+public class WorkflowExecutor {
+
+    private final ExecutorService executorService;
+    private final boolean usesVirtualThreads;
+    private final Scheduler scheduler;
+
+    private static final String virtualThreadFactoryMethod = "newVirtualThreadPerTaskExecutor";
+    private static final ThreadFactory workflowThreadFactory = new ThreadFactoryBuilder()
+        .setNameFormat("JFWorkflow-%d")
+        .setDaemon(true)
+        .build();
+    private static final Logger logger = LogManager.getLogger(WorkflowExecutor.class);
+
+    public WorkflowExecutor(final boolean preferVirtualThreads) {
+        final ExecutorService virtualThreadExecutor = preferVirtualThreads
+                ? virtualThreadExecutor()
+                : null;
+        usesVirtualThreads = virtualThreadExecutor != null;
+        executorService = usesVirtualThreads
+                ? virtualThreadExecutor
+                : Executors.newCachedThreadPool(workflowThreadFactory);
+        scheduler = Schedulers.from(executorService);
+    }
+
+    private static final ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod(virtualThreadFactoryMethod)
+                .invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            logger.info("Virtual threads not available on Java " + System.getProperty("java.version")
+                    + ", workflows run on a cached thread pool.");
+            return null;
+        }
+    }
+
+    public boolean usesVirtualThreads() {
+        return usesVirtualThreads;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    public <T> Single<T> call(final Callable<T> workflow) {
+        checkNotNull(workflow);
+
+        return Single
+            .fromCallable(workflow)
+            .subscribeOn(scheduler);
+    }
+
+    public Completable run(final Action workflow) {
+        checkNotNull(workflow);
+
+        return Completable
+            .fromAction(workflow)
+            .subscribeOn(scheduler);
+    }
+
+    public void shutdown() {
+        executorService.shutdown();
+    }
+}
@@ -1,14 +1,18 @@
 package com.jforex.programming.order;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Collection;
+import java.util.List;
 
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
+import com.jforex.programming.misc.JForexUtil;
 import com.jforex.programming.order.command.ClosePositionCommand;
 import com.jforex.programming.order.command.MergeCommand;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.SubmitOrderEvent;
 import com.jforex.programming.order.task.BasicTask;
 import com.jforex.programming.order.task.CloseTask;
 import com.jforex.programming.order.task.MergeTask;
@@ -41,6 +45,33 @@ public class OrderUtil {
         return basicTask.submitOrder(orderParams);
     }
 
+    public Observable<SubmitOrderEvent> submitOrders(final Collection<OrderParams> orderParamsCollection) {
+        checkNotNull(orderParamsCollection);
+
+        return basicTask.submitOrders(orderParamsCollection);
+    }
+
+    public List<OrderEvent> submitOrderAndAwait(final OrderParams orderParams) {
+        return await(submitOrder(orderParams));
+    }
+
+    public List<SubmitOrderEvent> submitOrdersAndAwait(final Collection<OrderParams> orderParamsCollection) {
+        return await(submitOrders(orderParamsCollection));
+    }
+
+    public List<OrderEvent> closeAndAwait(final IOrder order) {
+        return await(close(order));
+    }
+
+    private final <T> List<T> await(final Observable<T> observable) {
+        checkState(!JForexUtil.isStrategyThread(),
+                   "Awaiting order events on the strategy thread would block their delivery!");
+
+        return observable
+            .toList()
+            .blockingGet();
+    }
+
     public Observable<OrderEvent> mergeOrders(final String mergeOrderLabel,
                                               final Collection<IOrder> toMergeOrders) {
         checkNotNull(mergeOrderLabel);
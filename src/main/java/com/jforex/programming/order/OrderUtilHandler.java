@@ -36,10 +36,6 @@ public class OrderUtilHandler {
 
     private final Observable<OrderEvent> gatewayObservable(final IOrder order,
                                                            final OrderEventTypeData typeData) {
-        return orderEventGateway
-            .observable()
-            .filter(orderEvent -> orderEvent.order().equals(order))
-            .filter(orderEvent -> typeData.allEventTypes().contains(orderEvent.type()))
-            .takeUntil((final OrderEvent orderEvent) -> typeData.finishEventTypes().contains(orderEvent.type()));
+        return orderEventGateway.observableForCall(order, typeData);
     }
 }
@@ -0,0 +1,111 @@
+package com.jforex.programming.order.call;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class OrderCallReasonRing {
+
+    private final AtomicLong packedReasons = new AtomicLong();
+    private final AtomicLong spillCounter = new AtomicLong();
+    private final Queue<OrderCallReason> spilledReasons = new ArrayDeque<>();
+    private volatile int spilledCount;
+
+    private static final OrderCallReason[] reasons = OrderCallReason.values();
+    private static final int bitsPerEntry = 4;
+    private static final long entryMask = (1L << bitsPerEntry) - 1L;
+    public static final int capacity = (Long.SIZE / bitsPerEntry) - 1;
+
+    public void push(final OrderCallReason reason) {
+        if (spilledCount == 0 && tryPushPacked(reason))
+            return;
+        pushSpilled(reason);
+    }
+
+    private synchronized final void pushSpilled(final OrderCallReason reason) {
+        if (spilledCount == 0 && tryPushPacked(reason))
+            return;
+
+        spilledReasons.add(reason);
+        spilledCount = spilledReasons.size();
+        spillCounter.incrementAndGet();
+    }
+
+    private final boolean tryPushPacked(final OrderCallReason reason) {
+        while (true) {
+            final long packed = packedReasons.get();
+            final int size = size(packed);
+            if (size == capacity)
+                return false;
+
+            final long newEntries = (packed >>> bitsPerEntry) | ((long) reason.ordinal() << (bitsPerEntry * size));
+            if (packedReasons.compareAndSet(packed, pack(newEntries, size + 1)))
+                return true;
+        }
+    }
+
+    public OrderCallReason poll() {
+        OrderCallReason reason = pollPacked();
+        if (spilledCount > 0) {
+            refillFromSpilled();
+            if (reason == null)
+                reason = pollPacked();
+        }
+        return reason;
+    }
+
+    private final OrderCallReason pollPacked() {
+        while (true) {
+            final long packed = packedReasons.get();
+            final int size = size(packed);
+            if (size == 0)
+                return null;
+
+            final long entries = packed >>> bitsPerEntry;
+            if (packedReasons.compareAndSet(packed, pack(entries >>> bitsPerEntry, size - 1)))
+                return reasons[(int) (entries & entryMask)];
+        }
+    }
+
+    private synchronized final void refillFromSpilled() {
+        while (!spilledReasons.isEmpty() && tryPushPacked(spilledReasons.peek()))
+            spilledReasons.poll();
+        spilledCount = spilledReasons.size();
+    }
+
+    public synchronized List<OrderCallReason> snapshot() {
+        final long packed = packedReasons.get();
+        final int size = size(packed);
+        final List<OrderCallReason> snapshot = new ArrayList<>(size + spilledReasons.size());
+        long entries = packed >>> bitsPerEntry;
+        for (int i = 0; i < size; ++i) {
+            snapshot.add(reasons[(int) (entries & entryMask)]);
+            entries >>>= bitsPerEntry;
+        }
+        snapshot.addAll(spilledReasons);
+        return snapshot;
+    }
+
+    public int size() {
+        return size(packedReasons.get()) + spilledCount;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public long spillCount() {
+        return spillCounter.get();
+    }
+
+    private static final int size(final long packed) {
+        return (int) (packed & entryMask);
+    }
+
+    private static final long pack(final long entries,
+                                   final int size) {
+        return (entries << bitsPerEntry) | size;
+    }
+}
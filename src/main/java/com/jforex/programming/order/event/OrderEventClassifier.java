@@ -0,0 +1,47 @@
+package com.jforex.programming.order.event;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Set;
+
+import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
+
+public final class OrderEventClassifier {
+
+    private static final IMessage.Reason[] messageReasons = messageReasons();
+
+    public final OrderEventType classify(final IMessage message) {
+        final long reasonMask = reasonMask(message.getReasons());
+        return Long.bitCount(reasonMask) == 1
+                ? byReasonMask(reasonMask)
+                : byMessageType(message.getType(), message.getOrder());
+    }
+
+    public final OrderEventType byReasonMask(final long reasonMask) {
+        return OrderEventTypeMapper.byMessageReason(messageReasons[Long.numberOfTrailingZeros(reasonMask)]);
+    }
+
+    public final OrderEventType byMessageType(final IMessage.Type messageType,
+                                              final IOrder order) {
+        return OrderEventTypeMapper.byMessageType(messageType, order);
+    }
+
+    public static final long reasonMask(final Set<IMessage.Reason> reasons) {
+        if (reasons.isEmpty())
+            return 0L;
+
+        long reasonMask = 0L;
+        for (int ordinal = 0; ordinal < messageReasons.length; ++ordinal)
+            if (reasons.contains(messageReasons[ordinal]))
+                reasonMask |= 1L << ordinal;
+        return reasonMask;
+    }
+
+    private static final IMessage.Reason[] messageReasons() {
+        final IMessage.Reason[] messageReasons = IMessage.Reason.values();
+        checkState(messageReasons.length <= Long.SIZE,
+                   "Too many message reasons for a reason mask: " + messageReasons.length);
+        return messageReasons;
+    }
+}
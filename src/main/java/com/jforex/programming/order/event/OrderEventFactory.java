@@ -1,25 +1,27 @@
 package com.jforex.programming.order.event;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.jforex.programming.order.event.OrderEventTypeSets.infoEvents;
 
-import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
 import com.dukascopy.api.IMessage;
-import com.dukascopy.api.IMessage.Reason;
 import com.dukascopy.api.IOrder;
 import com.google.common.collect.MapMaker;
 import com.jforex.programming.order.OrderStaticUtil;
 import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallReasonRing;
 import com.jforex.programming.order.call.OrderCallRequest;
 
 import io.reactivex.Observable;
 
 public class OrderEventFactory {
 
-    private final ConcurrentMap<IOrder, Queue<OrderCallReason>> callReasonByOrder =
+    private final OrderEventClassifier orderEventClassifier = new OrderEventClassifier();
+    private final ConcurrentMap<IOrder, OrderCallReasonRing> callReasonsByOrder =
             new MapMaker().weakKeys().makeMap();
 
     public OrderEventFactory(final Observable<OrderCallRequest> callRequestObservable) {
@@ -27,47 +29,66 @@ public class OrderEventFactory {
     }
 
     private void registerOrderCallRequest(final OrderCallRequest orderCallRequest) {
-        final IOrder order = orderCallRequest.order();
-        callReasonByOrder.putIfAbsent(order, new ConcurrentLinkedQueue<>());
-        callReasonByOrder.get(order).add(orderCallRequest.reason());
+        callReasonsFor(orderCallRequest.order()).push(orderCallRequest.reason());
     }
 
-    public OrderEvent fromMessage(final IMessage message) {
-        final IOrder order = message.getOrder();
-        final OrderEventType orderEventType = calculateType(message);
-        final OrderEvent orderEvent = evaluateToOrderEvent(order, orderEventType);
-        cleanUpRegisteredOrder(order);
+    private final OrderCallReasonRing callReasonsFor(final IOrder order) {
+        final OrderCallReasonRing callReasons = callReasonsByOrder.get(order);
+        if (callReasons != null)
+            return callReasons;
 
-        return orderEvent;
+        final OrderCallReasonRing newCallReasons = new OrderCallReasonRing();
+        final OrderCallReasonRing registeredCallReasons = callReasonsByOrder.putIfAbsent(order, newCallReasons);
+        return registeredCallReasons == null
+                ? newCallReasons
+                : registeredCallReasons;
     }
 
-    private final OrderEventType calculateType(final IMessage message) {
-        final Set<Reason> reasons = message.getReasons();
-        return reasons.size() == 1
-                ? OrderEventTypeMapper.byMessageReason(reasons.iterator().next())
-                : OrderEventTypeMapper.byMessageType(message.getType(), message.getOrder());
+    public Map<IOrder, List<OrderCallReason>> pendingCallReasons() {
+        final Map<IOrder, List<OrderCallReason>> pendingCallReasons = new HashMap<>();
+        callReasonsByOrder.forEach((order, callReasons) -> {
+            final List<OrderCallReason> reasons = callReasons.snapshot();
+            if (!reasons.isEmpty())
+                pendingCallReasons.put(order, reasons);
+        });
+        return pendingCallReasons;
     }
 
-    private final OrderEvent evaluateToOrderEvent(final IOrder order,
-                                                  final OrderEventType orderEventType) {
-        return callReasonByOrder.keySet().contains(order)
-                ? eventForInternalOrder(order, orderEventType)
-                : eventForExternalOrder(order, orderEventType);
+    public void restoreCallReasons(final IOrder order,
+                                   final List<OrderCallReason> reasons) {
+        checkNotNull(order);
+        checkNotNull(reasons);
+
+        final OrderCallReasonRing callReasons = callReasonsFor(order);
+        reasons.forEach(callReasons::push);
+    }
+
+    public OrderEvent fromMessage(final IMessage message) {
+        final IOrder order = message.getOrder();
+        final OrderEventType orderEventType = orderEventClassifier.classify(message);
+        final OrderCallReasonRing callReasons = callReasonsByOrder.get(order);
+        if (callReasons == null)
+            return eventForExternalOrder(order, orderEventType);
+
+        final OrderEvent orderEvent = eventForInternalOrder(order,
+                                                            orderEventType,
+                                                            callReasons);
+        cleanUpRegisteredOrder(order);
+        return orderEvent;
     }
 
     private final void cleanUpRegisteredOrder(final IOrder order) {
         if (OrderStaticUtil.isClosed.test(order) ||
-                OrderStaticUtil.isCanceled.test(order)) {
-            if (callReasonByOrder.containsKey(order))
-                callReasonByOrder.remove(order).clear();
-        }
+                OrderStaticUtil.isCanceled.test(order))
+            callReasonsByOrder.remove(order);
     }
 
     private final OrderEvent eventForInternalOrder(final IOrder order,
-                                                   final OrderEventType rawOrderEventType) {
+                                                   final OrderEventType rawOrderEventType,
+                                                   final OrderCallReasonRing callReasons) {
         final OrderEventType orderEventType = infoEvents.contains(rawOrderEventType)
                 ? rawOrderEventType
-                : eventTypeForDoneTrigger(order, rawOrderEventType);
+                : eventTypeForDoneTrigger(rawOrderEventType, callReasons);
 
         return new OrderEvent(order,
                               orderEventType,
@@ -81,18 +102,11 @@ public class OrderEventFactory {
                               false);
     }
 
-    private final OrderEventType eventTypeForDoneTrigger(final IOrder order,
-                                                         final OrderEventType orderEventType) {
-        return callReasonByOrder.get(order).isEmpty()
+    private final OrderEventType eventTypeForDoneTrigger(final OrderEventType orderEventType,
+                                                         final OrderCallReasonRing callReasons) {
+        final OrderCallReason callReason = callReasons.poll();
+        return callReason == null || orderEventType != OrderEventType.CHANGED_REJECTED
                 ? orderEventType
-                : refineEventType(order, orderEventType);
-    }
-
-    private final OrderEventType refineEventType(final IOrder order,
-                                                 final OrderEventType orderEventType) {
-        final OrderCallReason callReason = callReasonByOrder.get(order).poll();
-        return orderEventType == OrderEventType.CHANGED_REJECTED
-                ? OrderEventTypeMapper.byChangeCallReason(callReason)
-                : orderEventType;
+                : OrderEventTypeMapper.byChangeCallReason(callReason);
     }
 }
@@ -1,5 +1,10 @@
 package com.jforex.programming.order.event;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -8,11 +13,13 @@ import com.dukascopy.api.IOrder;
 import com.jforex.programming.misc.JFHotPublisher;
 
 import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
 
 public class OrderEventGateway {
 
     private final JFHotPublisher<OrderEvent> orderEventPublisher = new JFHotPublisher<>();
     private final OrderEventFactory orderEventFactory;
+    private final Map<IOrder, List<PendingCall>> pendingCallsByOrder = new ConcurrentHashMap<>();
 
     private static final Logger logger = LogManager.getLogger(OrderEventGateway.class);
 
@@ -29,11 +36,79 @@ public class OrderEventGateway {
         return orderEventPublisher.observable();
     }
 
+    public Observable<OrderEvent> observableForCall(final IOrder order,
+                                                    final OrderEventTypeData typeData) {
+        return Observable.create(emitter -> {
+            final PendingCall pendingCall = new PendingCall(emitter, typeData);
+            addPendingCall(order, pendingCall);
+            emitter.setCancellable(() -> removePendingCall(order, pendingCall));
+        });
+    }
+
+    public int noOfPendingCalls(final IOrder order) {
+        final List<PendingCall> pendingCalls = pendingCallsByOrder.get(order);
+        return pendingCalls == null
+                ? 0
+                : pendingCalls.size();
+    }
+
+    private final void addPendingCall(final IOrder order,
+                                      final PendingCall pendingCall) {
+        pendingCallsByOrder.compute(order, (key, pendingCalls) -> {
+            final List<PendingCall> calls = pendingCalls == null
+                    ? new CopyOnWriteArrayList<>()
+                    : pendingCalls;
+            calls.add(pendingCall);
+            return calls;
+        });
+    }
+
+    private final void removePendingCall(final IOrder order,
+                                         final PendingCall pendingCall) {
+        pendingCallsByOrder.computeIfPresent(order, (key, pendingCalls) -> {
+            pendingCalls.remove(pendingCall);
+            return pendingCalls.isEmpty()
+                    ? null
+                    : pendingCalls;
+        });
+    }
+
     private void onOrderMessage(final IMessage message) {
         final OrderEvent orderEvent = orderEventFactory.fromMessage(message);
         final IOrder order = orderEvent.order();
         logger.debug("Received order event with label " + order.getLabel()
                 + " for " + order.getInstrument() + " " + orderEvent);
         orderEventPublisher.onNext(orderEvent);
+        // Pending calls are served after the general subscribers, so positions
+        // already reflect the event when a call observable completes.
+        dispatchToPendingCalls(orderEvent);
+    }
+
+    private final void dispatchToPendingCalls(final OrderEvent orderEvent) {
+        final List<PendingCall> pendingCalls = pendingCallsByOrder.get(orderEvent.order());
+        if (pendingCalls != null)
+            pendingCalls.forEach(pendingCall -> pendingCall.onOrderEvent(orderEvent));
+    }
+
+    private static final class PendingCall {
+
+        private final ObservableEmitter<OrderEvent> emitter;
+        private final OrderEventTypeData typeData;
+
+        private PendingCall(final ObservableEmitter<OrderEvent> emitter,
+                            final OrderEventTypeData typeData) {
+            this.emitter = emitter;
+            this.typeData = typeData;
+        }
+
+        private final void onOrderEvent(final OrderEvent orderEvent) {
+            final OrderEventType type = orderEvent.type();
+            if (!typeData.allEventTypes().contains(type))
+                return;
+
+            emitter.onNext(orderEvent);
+            if (typeData.finishEventTypes().contains(type))
+                emitter.onComplete();
+        }
     }
 }
@@ -3,6 +3,8 @@ package com.jforex.programming.order.event;
 import static com.jforex.programming.order.OrderStaticUtil.isClosed;
 import static com.jforex.programming.order.OrderStaticUtil.isFilled;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -92,15 +94,29 @@ public final class OrderEventTypeMapper {
                      order -> OrderEventType.MERGE_REJECTED)
                 .build());
 
+    private static final List<Function<IOrder, OrderEventType>> orderEventByMessageTypeOrdinal =
+            ordinalTable(IMessage.Type.values(), orderEventByMessageType);
+
+    private static final List<OrderEventType> orderEventByMessageReasonOrdinal =
+            ordinalTable(IMessage.Reason.values(), orderEventByMessageReason);
+
+    private static final <K extends Enum<K>, V> List<V> ordinalTable(final K[] keys,
+                                                                     final Map<K, V> valueByKey) {
+        final List<V> ordinalTable = new ArrayList<>(keys.length);
+        for (final K key : keys)
+            ordinalTable.add(valueByKey.get(key));
+        return ordinalTable;
+    }
+
     public static final OrderEventType byMessageType(final IMessage.Type messageType,
                                                      final IOrder order) {
-        return orderEventByMessageType
-            .get(messageType)
+        return orderEventByMessageTypeOrdinal
+            .get(messageType.ordinal())
             .apply(order);
     }
 
     public static final OrderEventType byMessageReason(final IMessage.Reason messageReason) {
-        return orderEventByMessageReason.get(messageReason);
+        return orderEventByMessageReasonOrdinal.get(messageReason.ordinal());
     }
 
     public static final OrderEventType byChangeCallReason(final OrderCallReason orderCallReason) {
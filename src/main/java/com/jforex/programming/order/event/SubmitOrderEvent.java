@@ -0,0 +1,63 @@
+package com.jforex.programming.order.event;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import com.jforex.programming.order.OrderParams;
+
+public final class SubmitOrderEvent {
+
+    private final OrderParams orderParams;
+    private final OrderEvent orderEvent;
+
+    public SubmitOrderEvent(final OrderParams orderParams,
+                            final OrderEvent orderEvent) {
+        this.orderParams = orderParams;
+        this.orderEvent = orderEvent;
+    }
+
+    public final OrderParams orderParams() {
+        return orderParams;
+    }
+
+    public final OrderEvent orderEvent() {
+        return orderEvent;
+    }
+
+    @Override
+    public int hashCode() {
+        final HashCodeBuilder builder = new HashCodeBuilder();
+        builder.append(orderParams);
+        builder.append(orderEvent);
+
+        return builder.toHashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof SubmitOrderEvent))
+            return false;
+
+        final SubmitOrderEvent other = (SubmitOrderEvent) obj;
+        final EqualsBuilder builder = new EqualsBuilder();
+        builder.append(orderParams, other.orderParams);
+        builder.append(orderEvent, other.orderEvent);
+
+        return builder.isEquals();
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder toStringBuilder = new ToStringBuilder(this, ToStringStyle.DEFAULT_STYLE);
+        toStringBuilder.append("label", orderParams.label());
+        toStringBuilder.append("orderEvent", orderEvent);
+
+        return toStringBuilder.toString();
+    }
+}
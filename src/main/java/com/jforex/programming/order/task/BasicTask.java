@@ -7,19 +7,24 @@ import static com.jforex.programming.order.OrderStaticUtil.isOpenPriceSetTo;
 import static com.jforex.programming.order.OrderStaticUtil.isSLSetTo;
 import static com.jforex.programming.order.OrderStaticUtil.isTPSetTo;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.OfferSide;
+import com.google.common.collect.ImmutableList;
 import com.jforex.programming.order.OrderParams;
 import com.jforex.programming.order.OrderStaticUtil;
 import com.jforex.programming.order.OrderUtilHandler;
 import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.SubmitOrderEvent;
 
 import io.reactivex.Completable;
 import io.reactivex.Observable;
+import io.reactivex.Single;
 
 public class BasicTask {
 
@@ -33,14 +38,40 @@ public class BasicTask {
     }
 
     public Observable<OrderEvent> submitOrder(final OrderParams orderParams) {
-        final OrderCallReason callReason = orderParams.orderCommand().isConditional()
-                ? OrderCallReason.SUBMIT_CONDITIONAL
-                : OrderCallReason.SUBMIT;
-
         return Observable.defer(() -> taskExecutor
             .submitOrder(orderParams)
             .toObservable()
-            .flatMap(order -> orderUtilObservable(order, callReason)));
+            .flatMap(order -> orderUtilObservable(order, submitCallReason(orderParams))));
+    }
+
+    public Observable<SubmitOrderEvent> submitOrders(final Collection<OrderParams> orderParamsCollection) {
+        final List<OrderParams> orderParamsList = ImmutableList.copyOf(orderParamsCollection);
+
+        return Observable.defer(() -> taskExecutor
+            .submitOrders(orderParamsList)
+            .toObservable()
+            .flatMap(submitResults -> Observable.mergeDelayError(submittedObservables(orderParamsList,
+                                                                                      submitResults))));
+    }
+
+    private final List<Observable<SubmitOrderEvent>> submittedObservables(final List<OrderParams> orderParamsList,
+                                                                          final List<Single<IOrder>> submitResults) {
+        final List<Observable<SubmitOrderEvent>> submittedObservables = new ArrayList<>(orderParamsList.size());
+        for (int i = 0; i < orderParamsList.size(); ++i) {
+            final OrderParams orderParams = orderParamsList.get(i);
+            submittedObservables.add(submitResults
+                .get(i)
+                .toObservable()
+                .flatMap(order -> orderUtilObservable(order, submitCallReason(orderParams)))
+                .map(orderEvent -> new SubmitOrderEvent(orderParams, orderEvent)));
+        }
+        return submittedObservables;
+    }
+
+    private final OrderCallReason submitCallReason(final OrderParams orderParams) {
+        return orderParams.orderCommand().isConditional()
+                ? OrderCallReason.SUBMIT_CONDITIONAL
+                : OrderCallReason.SUBMIT;
     }
 
     public Observable<OrderEvent> mergeOrders(final String mergeOrderLabel,
@@ -1,7 +1,6 @@
 package com.jforex.programming.order.task;
 
 import java.util.Collection;
-import java.util.List;
 
 import com.dukascopy.api.IOrder;
 import com.jforex.programming.misc.JForexUtil;
@@ -15,11 +14,14 @@ import io.reactivex.functions.Function;
 public class BatchChangeTask {
 
     private final BasicTask basicTask;
+    private final int maxConcurrentBatchCalls;
 
     private static final PlatformSettings platformSettings = JForexUtil.platformSettings;
 
-    public BatchChangeTask(final BasicTask orderBasicTask) {
+    public BatchChangeTask(final BasicTask orderBasicTask,
+                           final int maxConcurrentBatchCalls) {
         this.basicTask = orderBasicTask;
+        this.maxConcurrentBatchCalls = maxConcurrentBatchCalls;
     }
 
     public Observable<OrderEvent> close(final Collection<IOrder> orders,
@@ -58,14 +60,10 @@ public class BatchChangeTask {
     private Observable<OrderEvent> forBasicTask(final Collection<IOrder> orders,
                                                 final BatchMode batchMode,
                                                 final Function<IOrder, Observable<OrderEvent>> basicTask) {
-        final List<Observable<OrderEvent>> observables = Observable
-            .fromIterable(orders)
-            .map(basicTask::apply)
-            .toList()
-            .blockingGet();
+        final Observable<IOrder> orderObservable = Observable.fromIterable(orders);
 
         return batchMode == BatchMode.MERGE
-                ? Observable.merge(observables)
-                : Observable.concat(observables);
+                ? orderObservable.flatMap(basicTask, maxConcurrentBatchCalls)
+                : orderObservable.concatMap(basicTask);
     }
 }
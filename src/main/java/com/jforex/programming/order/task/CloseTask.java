@@ -13,11 +13,14 @@ public class CloseTask {
 
     private final ClosePositionCommandHandler commandHandler;
     private final PositionUtil positionUtil;
+    private final int maxConcurrentBatchCalls;
 
     public CloseTask(final ClosePositionCommandHandler commandHandler,
-                          final PositionUtil positionUtil) {
+                     final PositionUtil positionUtil,
+                     final int maxConcurrentBatchCalls) {
         this.commandHandler = commandHandler;
         this.positionUtil = positionUtil;
+        this.maxConcurrentBatchCalls = maxConcurrentBatchCalls;
     }
 
     public Observable<OrderEvent> close(final ClosePositionCommand command) {
@@ -33,7 +36,9 @@ public class CloseTask {
         return Observable.defer(() -> {
             final Function<Instrument, Observable<OrderEvent>> observablesFromFactory =
                     instrument -> close(commandFactory.apply(instrument));
-            return Observable.merge(positionUtil.observablesFromFactory(observablesFromFactory));
+            return positionUtil
+                .deferredObservablesFromFactory(observablesFromFactory)
+                .flatMap(positionObservable -> positionObservable, maxConcurrentBatchCalls);
         });
     }
 }
@@ -0,0 +1,147 @@
+package com.jforex.programming.order.task;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.jforex.programming.order.event.OrderEventTypeSets.infoEvents;
+import static com.jforex.programming.order.event.OrderEventTypeSets.rejectEvents;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import com.jforex.programming.order.event.OrderEvent;
+
+import io.reactivex.Completable;
+import io.reactivex.CompletableEmitter;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+
+public class EngineCallLimiter {
+
+    private final Scheduler scheduler;
+    private final double minCallsPerSecond;
+    private final double maxCallsPerSecond;
+    private final double burstSize;
+    private final Queue<CompletableEmitter> waitingCalls = new ArrayDeque<>();
+    private double callsPerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+    private boolean isReleaseScheduled;
+    private long rejectCount;
+
+    private static final double rateIncreasePerSuccess = 1.0;
+    private static final double rateDecreaseFactorOnReject = 0.5;
+    private static final double nanosPerSecond = TimeUnit.SECONDS.toNanos(1L);
+
+    public EngineCallLimiter(final Observable<OrderEvent> orderEventObservable,
+                             final double minCallsPerSecond,
+                             final double maxCallsPerSecond,
+                             final int burstSize,
+                             final Scheduler scheduler) {
+        checkArgument(minCallsPerSecond > 0.0, "Minimum engine calls per second must be positive!");
+        checkArgument(maxCallsPerSecond >= minCallsPerSecond,
+                      "Maximum engine calls per second must not be below minimum!");
+        checkArgument(burstSize > 0, "Engine call burst size must be positive!");
+
+        this.scheduler = scheduler;
+        this.minCallsPerSecond = minCallsPerSecond;
+        this.maxCallsPerSecond = maxCallsPerSecond;
+        this.burstSize = burstSize;
+
+        callsPerSecond = maxCallsPerSecond;
+        tokens = burstSize;
+        lastRefillNanos = nowNanos();
+
+        orderEventObservable
+            .filter(OrderEvent::isInternal)
+            .subscribe(this::onOrderEvent);
+    }
+
+    public Completable acquire() {
+        return Completable.create(emitter -> {
+            if (tryAcquireImmediately(emitter))
+                emitter.onComplete();
+        });
+    }
+
+    public synchronized double currentCallsPerSecond() {
+        return callsPerSecond;
+    }
+
+    public synchronized int queueDepth() {
+        return waitingCalls.size();
+    }
+
+    public synchronized long rejectCount() {
+        return rejectCount;
+    }
+
+    private final synchronized boolean tryAcquireImmediately(final CompletableEmitter emitter) {
+        refill();
+        if (waitingCalls.isEmpty() && tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+
+        waitingCalls.add(emitter);
+        scheduleRelease();
+        return false;
+    }
+
+    private final void onOrderEvent(final OrderEvent orderEvent) {
+        if (rejectEvents.contains(orderEvent.type()))
+            onReject();
+        else if (!infoEvents.contains(orderEvent.type()))
+            onSuccess();
+    }
+
+    private final synchronized void onReject() {
+        ++rejectCount;
+        callsPerSecond = Math.max(minCallsPerSecond, callsPerSecond * rateDecreaseFactorOnReject);
+        tokens = Math.min(tokens, 0.0);
+    }
+
+    private final synchronized void onSuccess() {
+        callsPerSecond = Math.min(maxCallsPerSecond, callsPerSecond + rateIncreasePerSuccess);
+    }
+
+    private final void releaseWaitingCalls() {
+        final List<CompletableEmitter> releasedCalls = new ArrayList<>();
+        synchronized (this) {
+            isReleaseScheduled = false;
+            refill();
+            while (tokens >= 1.0 && !waitingCalls.isEmpty()) {
+                final CompletableEmitter emitter = waitingCalls.poll();
+                if (!emitter.isDisposed()) {
+                    tokens -= 1.0;
+                    releasedCalls.add(emitter);
+                }
+            }
+            if (!waitingCalls.isEmpty())
+                scheduleRelease();
+        }
+        releasedCalls.forEach(CompletableEmitter::onComplete);
+    }
+
+    private final void scheduleRelease() {
+        if (isReleaseScheduled)
+            return;
+
+        isReleaseScheduled = true;
+        final long delayNanos = (long) Math.ceil((1.0 - tokens) / callsPerSecond * nanosPerSecond);
+        scheduler.scheduleDirect(this::releaseWaitingCalls,
+                                 Math.max(delayNanos, 0L),
+                                 TimeUnit.NANOSECONDS);
+    }
+
+    private final void refill() {
+        final long now = nowNanos();
+        tokens = Math.min(burstSize, tokens + (now - lastRefillNanos) * callsPerSecond / nanosPerSecond);
+        lastRefillNanos = now;
+    }
+
+    private final long nowNanos() {
+        return scheduler.now(TimeUnit.NANOSECONDS);
+    }
+}
@@ -16,11 +16,14 @@ public class MergeTask {
 
     private final CancelSLTPAndMergeTask cancelSLTPAndMergeTask;
     private final PositionUtil positionUtil;
+    private final int maxConcurrentBatchCalls;
 
     public MergeTask(final CancelSLTPAndMergeTask cancelSLTPAndMergeTask,
-                     final PositionUtil positionUtil) {
+                     final PositionUtil positionUtil,
+                     final int maxConcurrentBatchCalls) {
         this.cancelSLTPAndMergeTask = cancelSLTPAndMergeTask;
         this.positionUtil = positionUtil;
+        this.maxConcurrentBatchCalls = maxConcurrentBatchCalls;
     }
 
     public Observable<OrderEvent> merge(final Collection<IOrder> toMergeOrders,
@@ -42,7 +45,9 @@ public class MergeTask {
         return Observable.defer(() -> {
             final Function<Instrument, Observable<OrderEvent>> observablesFromFactory =
                     instrument -> mergePosition(instrument, commandFactory.apply(instrument));
-            return Observable.merge(positionUtil.observablesFromFactory(observablesFromFactory));
+            return positionUtil
+                .deferredObservablesFromFactory(observablesFromFactory)
+                .flatMap(positionObservable -> positionObservable, maxConcurrentBatchCalls);
         });
     }
 }
@@ -1,10 +1,15 @@
 package com.jforex.programming.order.task;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 import com.dukascopy.api.IEngine;
 import com.dukascopy.api.IOrder;
+import com.dukascopy.api.JFException;
 import com.dukascopy.api.OfferSide;
 import com.jforex.programming.misc.StrategyThreadTask;
 import com.jforex.programming.order.OrderParams;
@@ -17,24 +22,61 @@ public class TaskExecutor {
 
     private final StrategyThreadTask strategyThreadTask;
     private final IEngine engine;
+    private final Optional<EngineCallLimiter> maybeCallLimiter;
 
     public TaskExecutor(final StrategyThreadTask strategyThreadTask,
                         final IEngine engine) {
         this.strategyThreadTask = strategyThreadTask;
         this.engine = engine;
+        maybeCallLimiter = Optional.empty();
+    }
+
+    public TaskExecutor(final StrategyThreadTask strategyThreadTask,
+                        final IEngine engine,
+                        final EngineCallLimiter callLimiter) {
+        this.strategyThreadTask = strategyThreadTask;
+        this.engine = engine;
+        maybeCallLimiter = Optional.of(callLimiter);
     }
 
     public Single<IOrder> submitOrder(final OrderParams orderParams) {
-        return single(() -> engine.submitOrder(orderParams.label(),
-                                               orderParams.instrument(),
-                                               orderParams.orderCommand(),
-                                               orderParams.amount(),
-                                               orderParams.price(),
-                                               orderParams.slippage(),
-                                               orderParams.stopLossPrice(),
-                                               orderParams.takeProfitPrice(),
-                                               orderParams.goodTillTime(),
-                                               orderParams.comment()));
+        return single(() -> engineSubmit(orderParams));
+    }
+
+    public Single<List<Single<IOrder>>> submitOrders(final List<OrderParams> orderParamsList) {
+        final Single<List<Single<IOrder>>> submitBatch = strategyThreadTask.execute(() -> orderParamsList
+            .stream()
+            .map(this::engineSubmitResult)
+            .collect(Collectors.toList()));
+        return maybeCallLimiter.isPresent()
+                ? acquirePerOrder(maybeCallLimiter.get(), orderParamsList.size()).andThen(submitBatch)
+                : submitBatch;
+    }
+
+    private final Completable acquirePerOrder(final EngineCallLimiter callLimiter,
+                                              final int noOfOrders) {
+        return Completable.concat(Collections.nCopies(noOfOrders, callLimiter.acquire()));
+    }
+
+    private final Single<IOrder> engineSubmitResult(final OrderParams orderParams) {
+        try {
+            return Single.just(engineSubmit(orderParams));
+        } catch (final Exception e) {
+            return Single.error(e);
+        }
+    }
+
+    private final IOrder engineSubmit(final OrderParams orderParams) throws JFException {
+        return engine.submitOrder(orderParams.label(),
+                                  orderParams.instrument(),
+                                  orderParams.orderCommand(),
+                                  orderParams.amount(),
+                                  orderParams.price(),
+                                  orderParams.slippage(),
+                                  orderParams.stopLossPrice(),
+                                  orderParams.takeProfitPrice(),
+                                  orderParams.goodTillTime(),
+                                  orderParams.comment());
     }
 
     public Single<IOrder> mergeOrders(final String mergeOrderLabel,
@@ -112,10 +154,19 @@ public class TaskExecutor {
     }
 
     private Single<IOrder> single(final Callable<IOrder> callable) {
-        return strategyThreadTask.execute(callable);
+        return limited(strategyThreadTask.execute(callable));
     }
 
     private Completable completable(final Action action) {
-        return strategyThreadTask.execute(action);
+        final Completable completable = strategyThreadTask.execute(action);
+        return maybeCallLimiter.isPresent()
+                ? maybeCallLimiter.get().acquire().andThen(completable)
+                : completable;
+    }
+
+    private final <T> Single<T> limited(final Single<T> single) {
+        return maybeCallLimiter.isPresent()
+                ? maybeCallLimiter.get().acquire().andThen(single)
+                : single;
     }
 }
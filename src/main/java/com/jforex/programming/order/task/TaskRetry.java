@@ -7,6 +7,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.jforex.programming.misc.RetryPolicy;
 import com.jforex.programming.misc.RxUtil;
 import com.jforex.programming.order.call.OrderCallRejectException;
 import com.jforex.programming.order.event.OrderEvent;
@@ -24,9 +25,15 @@ public class TaskRetry {
 
     public static ObservableTransformer<OrderEvent, OrderEvent> onRejectRetryWith(final int noOfRetries,
                                                                                   final long delayInMillis) {
+        return onRejectRetryWith(RetryPolicy.constant(noOfRetries,
+                                                      delayInMillis,
+                                                      TimeUnit.MILLISECONDS));
+    }
+
+    public static ObservableTransformer<OrderEvent, OrderEvent> onRejectRetryWith(final RetryPolicy retryPolicy) {
         return sourceObservable -> sourceObservable
             .flatMap(TaskRetry::rejectAsError)
-            .retryWhen(retryOnReject(noOfRetries, delayInMillis));
+            .retryWhen(retryOnReject(retryPolicy));
     }
 
     private final static Observable<OrderEvent> rejectAsError(final OrderEvent orderEvent) {
@@ -37,28 +44,26 @@ public class TaskRetry {
 
     private static final Function<Observable<? extends Throwable>,
                                   Observable<Long>>
-            retryOnReject(final int noOfRetries,
-                          final long delayInMillis) {
+            retryOnReject(final RetryPolicy retryPolicy) {
         return errors -> errors
-            .flatMap(error -> filterCallErrorType(error, delayInMillis))
-            .compose(RxUtil.retryComposer(noOfRetries,
-                                          delayInMillis,
-                                          TimeUnit.MILLISECONDS));
+            .flatMap(TaskRetry::filterCallErrorType)
+            .compose(RxUtil.retryComposer(retryPolicy,
+                                          (error, delay) -> logPositionTaskRetry((OrderCallRejectException) error,
+                                                                                 delay,
+                                                                                 retryPolicy.timeUnit())));
     }
 
-    private static final Observable<Throwable> filterCallErrorType(final Throwable error,
-                                                                   final long delayInMillis) {
-        if (error instanceof OrderCallRejectException) {
-            logPositionTaskRetry((OrderCallRejectException) error, delayInMillis);
-            return Observable.just(error);
-        }
-        return Observable.error(error);
+    private static final Observable<Throwable> filterCallErrorType(final Throwable error) {
+        return error instanceof OrderCallRejectException
+                ? Observable.just(error)
+                : Observable.error(error);
     }
 
     private static final void logPositionTaskRetry(final OrderCallRejectException rejectException,
-                                                   final long delayInMillis) {
+                                                   final long delay,
+                                                   final TimeUnit timeUnit) {
         logger.warn("Received reject type " + rejectException.orderEvent().type() +
                 " for order " + rejectException.orderEvent().order().getLabel() + "!"
-                + " Will retry task in " + delayInMillis + " milliseconds...");
+                + " Will retry task in " + delay + " " + timeUnit.toString().toLowerCase() + "...");
     }
 }
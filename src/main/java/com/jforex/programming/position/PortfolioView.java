@@ -0,0 +1,238 @@
+package com.jforex.programming.position;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.IAccount;
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.google.common.collect.ImmutableMap;
+import com.jforex.programming.math.CalculationUtil;
+import com.jforex.programming.misc.JForexUtil;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.quote.TickQuoteProvider;
+import com.jforex.programming.settings.PlatformSettings;
+
+import io.reactivex.Observable;
+
+public class PortfolioView {
+
+    private final PositionFactory positionFactory;
+    private final TickQuoteProvider tickQuoteProvider;
+    private final CalculationUtil calculationUtil;
+    private final IAccount account;
+    private final Map<Instrument, InstrumentExposure> exposureByInstrument = new ConcurrentHashMap<>();
+    private volatile Map<ICurrency, Double> exposureByCurrency = ImmutableMap.of();
+    private volatile double unrealizedPL;
+    private volatile double usedMargin;
+
+    private static final PlatformSettings platformSettings = JForexUtil.platformSettings;
+    private static final Logger logger = LogManager.getLogger(PortfolioView.class);
+
+    public PortfolioView(final PositionFactory positionFactory,
+                         final Observable<OrderEvent> orderEventObservable,
+                         final TickQuoteProvider tickQuoteProvider,
+                         final CalculationUtil calculationUtil,
+                         final IAccount account) {
+        this.positionFactory = positionFactory;
+        this.tickQuoteProvider = tickQuoteProvider;
+        this.calculationUtil = calculationUtil;
+        this.account = account;
+
+        observeOrderEvents(orderEventObservable);
+        observeTickQuotes(tickQuoteProvider.observable());
+    }
+
+    private void observeOrderEvents(final Observable<OrderEvent> orderEventObservable) {
+        orderEventObservable
+            .map(orderEvent -> orderEvent.order().getInstrument())
+            .doOnNext(this::onOrderEventForInstrument)
+            .subscribe();
+    }
+
+    private void observeTickQuotes(final Observable<TickQuote> tickQuoteObservable) {
+        tickQuoteObservable
+            .filter(tickQuote -> exposureByInstrument.containsKey(tickQuote.instrument()))
+            .doOnNext(this::onTickQuote)
+            .subscribe();
+    }
+
+    public void recalculateAll() {
+        positionFactory
+            .all()
+            .forEach(position -> onOrderEventForInstrument(position.instrument()));
+    }
+
+    private void onOrderEventForInstrument(final Instrument instrument) {
+        if (!positionFactory.maybeForInstrument(instrument).isPresent())
+            return;
+
+        try {
+            recalculate(instrument,
+                        tickQuoteProvider.ask(instrument),
+                        tickQuoteProvider.bid(instrument));
+        } catch (final RuntimeException e) {
+            logRecalculationError(instrument, e);
+        }
+    }
+
+    private void onTickQuote(final TickQuote tickQuote) {
+        try {
+            recalculate(tickQuote.instrument(),
+                        tickQuote.tick().getAsk(),
+                        tickQuote.tick().getBid());
+        } catch (final RuntimeException e) {
+            logRecalculationError(tickQuote.instrument(), e);
+        }
+    }
+
+    private final void logRecalculationError(final Instrument instrument,
+                                             final RuntimeException e) {
+        logger.error("Portfolio recalculation for " + instrument + " failed! " + e.getMessage());
+    }
+
+    private synchronized void recalculate(final Instrument instrument,
+                                          final double ask,
+                                          final double bid) {
+        final PositionOrders position = positionFactory.forInstrument(instrument);
+        final double baseUnits = position.signedExposure() * platformSettings.baseAmount();
+        final double quoteUnits = -position.signedNotional() * platformSettings.baseAmount();
+        final InstrumentExposure oldExposure = exposureByInstrument.get(instrument);
+        if (baseUnits == 0.0 && quoteUnits == 0.0) {
+            if (oldExposure != null) {
+                exposureByInstrument.remove(instrument);
+                updateTotals(true);
+            }
+            return;
+        }
+
+        final double instrumentUnrealizedPL = baseUnits == 0.0
+                ? 0.0
+                : unrealizedPLInAccountCurrency(instrument, baseUnits, quoteUnits, ask, bid);
+        final double instrumentUsedMargin = baseUnits == 0.0
+                ? 0.0
+                : usedMarginInAccountCurrency(instrument, baseUnits);
+
+        exposureByInstrument.put(instrument, new InstrumentExposure(instrument,
+                                                                    baseUnits,
+                                                                    quoteUnits,
+                                                                    instrumentUnrealizedPL,
+                                                                    instrumentUsedMargin));
+        updateTotals(oldExposure == null
+                || oldExposure.baseUnits != baseUnits
+                || oldExposure.quoteUnits != quoteUnits);
+    }
+
+    private final double unrealizedPLInAccountCurrency(final Instrument instrument,
+                                                       final double baseUnits,
+                                                       final double quoteUnits,
+                                                       final double ask,
+                                                       final double bid) {
+        final double closePrice = baseUnits > 0
+                ? bid
+                : ask;
+        final double quotePL = baseUnits * closePrice + quoteUnits;
+        return calculationUtil.convertAmount(quotePL,
+                                             instrument.getSecondaryJFCurrency(),
+                                             account.getAccountCurrency(),
+                                             OfferSide.BID);
+    }
+
+    private final double usedMarginInAccountCurrency(final Instrument instrument,
+                                                     final double baseUnits) {
+        final double notional = calculationUtil.convertAmount(Math.abs(baseUnits),
+                                                              instrument.getPrimaryJFCurrency(),
+                                                              account.getAccountCurrency(),
+                                                              OfferSide.ASK);
+        return notional / account.getLeverage();
+    }
+
+    private final void updateTotals(final boolean haveUnitsChanged) {
+        double totalUnrealizedPL = 0.0;
+        double totalUsedMargin = 0.0;
+        final Map<ICurrency, Double> unitsByCurrency = new HashMap<>();
+        for (final InstrumentExposure exposure : exposureByInstrument.values()) {
+            totalUnrealizedPL += exposure.unrealizedPL;
+            totalUsedMargin += exposure.usedMargin;
+            if (haveUnitsChanged) {
+                addCurrencyUnits(unitsByCurrency, exposure.instrument.getPrimaryJFCurrency(), exposure.baseUnits);
+                addCurrencyUnits(unitsByCurrency, exposure.instrument.getSecondaryJFCurrency(), exposure.quoteUnits);
+            }
+        }
+
+        unrealizedPL = totalUnrealizedPL;
+        usedMargin = totalUsedMargin;
+        if (haveUnitsChanged)
+            exposureByCurrency = ImmutableMap.copyOf(unitsByCurrency);
+    }
+
+    private static final void addCurrencyUnits(final Map<ICurrency, Double> unitsByCurrency,
+                                               final ICurrency currency,
+                                               final double units) {
+        if (units != 0.0)
+            unitsByCurrency.merge(currency, units, Double::sum);
+    }
+
+    public double netExposure(final ICurrency currency) {
+        return exposureByCurrency.getOrDefault(checkNotNull(currency), 0.0);
+    }
+
+    public Map<ICurrency, Double> netExposures() {
+        return exposureByCurrency;
+    }
+
+    public double unrealizedPL(final Instrument instrument) {
+        final InstrumentExposure exposure = exposureByInstrument.get(checkNotNull(instrument));
+        return exposure == null
+                ? 0.0
+                : exposure.unrealizedPL;
+    }
+
+    public double totalUnrealizedPL() {
+        return unrealizedPL;
+    }
+
+    public double usedMargin(final Instrument instrument) {
+        final InstrumentExposure exposure = exposureByInstrument.get(checkNotNull(instrument));
+        return exposure == null
+                ? 0.0
+                : exposure.usedMargin;
+    }
+
+    public double totalUsedMargin() {
+        return usedMargin;
+    }
+
+    public int noOfExposedInstruments() {
+        return exposureByInstrument.size();
+    }
+
+    private static final class InstrumentExposure {
+
+        private final Instrument instrument;
+        private final double baseUnits;
+        private final double quoteUnits;
+        private final double unrealizedPL;
+        private final double usedMargin;
+
+        private InstrumentExposure(final Instrument instrument,
+                                   final double baseUnits,
+                                   final double quoteUnits,
+                                   final double unrealizedPL,
+                                   final double usedMargin) {
+            this.instrument = instrument;
+            this.baseUnits = baseUnits;
+            this.quoteUnits = quoteUnits;
+            this.unrealizedPL = unrealizedPL;
+            this.usedMargin = usedMargin;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.jforex.programming.position;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.jforex.programming.order.OrderStaticUtil.isCanceled;
 import static com.jforex.programming.order.OrderStaticUtil.isClosed;
 import static com.jforex.programming.order.event.OrderEventTypeSets.createEvents;
 import static java.util.stream.Collectors.toSet;
 
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
@@ -16,57 +18,169 @@ import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.MapMaker;
+import com.jforex.programming.misc.JForexUtil;
+import com.jforex.programming.order.OrderDirection;
+import com.jforex.programming.order.OrderStaticUtil;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.position.PositionIndex.IndexedValues;
+import com.jforex.programming.settings.PlatformSettings;
 
 import io.reactivex.Observable;
 
 public class Position implements PositionOrders {
 
     private final Instrument instrument;
-    private final ConcurrentMap<IOrder, Boolean> orderRepository =
+    private final ConcurrentMap<IOrder, OrderContribution> orderRepository =
             new MapMaker().weakKeys().makeMap();
+    private final PositionIndex positionIndex = new PositionIndex();
+    private volatile int trackedOrderCount;
+    private volatile Aggregates aggregates = Aggregates.empty;
+    private int filledCount;
+    private int openedCount;
+    private long signedExposureUnits;
+    private long filledAmountUnits;
+    private double filledNotional;
+    private double signedNotional;
+    private double stopLossRisk;
+    private double takeProfitReward;
 
+    private static final PlatformSettings platformSettings = JForexUtil.platformSettings;
+    private static final double amountUnitsPerLot = Math.pow(10.0, platformSettings.amountPrecision());
+    private static final Predicate<IOrder> isClosedOrCanceled = isClosed.or(isCanceled);
     private static final Logger logger = LogManager.getLogger(Position.class);
 
     public Position(final Instrument instrument,
                     final Observable<OrderEvent> orderEventObservable) {
+        this(instrument);
+
+        orderEventObservable
+            .doOnNext(this::onOrderEvent)
+            .subscribe();
+    }
+
+    Position(final Instrument instrument) {
         this.instrument = instrument;
+    }
 
-        observeClosedOrdersForRemoval(orderEventObservable);
-        observeCreatedOrdersForInsertion(orderEventObservable);
+    private void onOrderEvent(final OrderEvent orderEvent) {
+        final IOrder order = orderEvent.order();
+        if (contains(order))
+            onContainedOrderEvent(order);
+        else if (isInternalCreateEvent(orderEvent) && order.getInstrument() == instrument)
+            addOrder(order);
     }
 
-    private void observeClosedOrdersForRemoval(final Observable<OrderEvent> orderEventObservable) {
-        orderEventObservable
-            .map(OrderEvent::order)
-            .filter(this::contains)
-            .filter(isClosed.or(isCanceled)::test)
-            .doOnNext(this::removeOrder)
-            .subscribe();
+    static final boolean isInternalCreateEvent(final OrderEvent orderEvent) {
+        return orderEvent.isInternal() && createEvents.contains(orderEvent.type());
     }
 
-    private void observeCreatedOrdersForInsertion(final Observable<OrderEvent> orderEventObservable) {
-        orderEventObservable
-            .filter(orderEvent -> orderEvent.order().getInstrument() == instrument)
-            .filter(orderEvent -> createEvents.contains(orderEvent.type()))
-            .filter(OrderEvent::isInternal)
-            .map(OrderEvent::order)
-            .doOnNext(this::addOrder)
-            .subscribe();
+    final void onContainedOrderEvent(final IOrder order) {
+        if (isClosedOrCanceled.test(order))
+            removeOrder(order);
+        else
+            updateOrder(order);
     }
 
     private synchronized void removeOrder(final IOrder order) {
-        orderRepository.remove(order);
+        purgeCollectedOrders();
+        final OrderContribution contribution = orderRepository.remove(order);
+        if (contribution != null) {
+            applyContribution(contribution, -1);
+            positionIndex.remove(order, contribution.indexedValues);
+            --trackedOrderCount;
+            publishAggregates();
+        }
         logger.debug("Removed order " + order.getLabel() + " from position " + instrument
                 + " Orderstate: " + order.getState() + " repo size " + orderRepository.size());
     }
 
-    private synchronized void addOrder(final IOrder order) {
-        orderRepository.put(order, true);
+    synchronized void addOrder(final IOrder order) {
+        updateOrder(order);
         logger.debug("Added order " + order.getLabel() + " to position " + instrument
                 + " Orderstate: " + order.getState() + " repo size " + orderRepository.size());
     }
 
+    private synchronized void updateOrder(final IOrder order) {
+        purgeCollectedOrders();
+        OrderContribution contribution = orderRepository.get(order);
+        if (contribution == null) {
+            contribution = new OrderContribution();
+            orderRepository.put(order, contribution);
+            ++trackedOrderCount;
+        } else {
+            applyContribution(contribution, -1);
+            positionIndex.remove(order, contribution.indexedValues);
+        }
+
+        contribution.update(order);
+        applyContribution(contribution, 1);
+        positionIndex.add(order, contribution.indexedValues);
+        publishAggregates();
+    }
+
+    private final void applyContribution(final OrderContribution contribution,
+                                         final int sign) {
+        if (contribution.isOpened)
+            openedCount += sign;
+        if (!contribution.isFilled)
+            return;
+
+        filledCount += sign;
+        if (filledCount == 0) {
+            resetFilledAggregates();
+            return;
+        }
+        signedExposureUnits += sign * contribution.signedAmountUnits;
+        filledAmountUnits += sign * contribution.amountUnits;
+        filledNotional += sign * contribution.amount * contribution.openPrice;
+        signedNotional += sign * contribution.signedAmount * contribution.openPrice;
+        stopLossRisk += sign * contribution.stopLossRisk;
+        takeProfitReward += sign * contribution.takeProfitReward;
+    }
+
+    private final void resetFilledAggregates() {
+        signedExposureUnits = 0L;
+        filledAmountUnits = 0L;
+        filledNotional = 0.0;
+        signedNotional = 0.0;
+        stopLossRisk = 0.0;
+        takeProfitReward = 0.0;
+    }
+
+    private final void publishAggregates() {
+        aggregates = new Aggregates(filledCount,
+                                    openedCount,
+                                    signedExposureUnits,
+                                    filledAmountUnits,
+                                    filledNotional,
+                                    signedNotional,
+                                    stopLossRisk,
+                                    takeProfitReward);
+    }
+
+    private final Aggregates aggregates() {
+        if (orderRepository.size() != trackedOrderCount)
+            purgeCollectedOrders();
+        return aggregates;
+    }
+
+    private synchronized final void purgeCollectedOrders() {
+        if (orderRepository.size() == trackedOrderCount)
+            return;
+
+        filledCount = 0;
+        openedCount = 0;
+        resetFilledAggregates();
+        int orderCount = 0;
+        for (final OrderContribution contribution : orderRepository.values()) {
+            applyContribution(contribution, 1);
+            ++orderCount;
+        }
+        trackedOrderCount = orderCount;
+        publishAggregates();
+        logger.debug("Purged collected orders from position " + instrument + " repo size " + orderCount);
+    }
+
     @Override
     public Instrument instrument() {
         return instrument;
@@ -96,11 +210,137 @@ public class Position implements PositionOrders {
             .collect(toSet());
     }
 
+    @Override
+    public Set<IOrder> inState(final IOrder.State state) {
+        return positionIndex.inState(checkNotNull(state));
+    }
+
+    @Override
+    public Set<IOrder> inState(final IOrder.State state,
+                               final OrderDirection direction) {
+        return positionIndex.inState(checkNotNull(state), checkNotNull(direction));
+    }
+
+    @Override
+    public Set<IOrder> conditionalInState(final IOrder.State state) {
+        return positionIndex.conditionalInState(checkNotNull(state));
+    }
+
+    @Override
+    public Optional<IOrder> orderByLabel(final String label) {
+        return positionIndex.byLabel(checkNotNull(label));
+    }
+
+    @Override
+    public double signedExposure() {
+        return aggregates().signedExposureUnits / amountUnitsPerLot;
+    }
+
+    @Override
+    public int filledCount() {
+        return aggregates().filledCount;
+    }
+
+    @Override
+    public int openedCount() {
+        return aggregates().openedCount;
+    }
+
+    @Override
+    public double averageEntryPrice() {
+        final Aggregates currentAggregates = aggregates();
+        return currentAggregates.filledAmountUnits == 0L
+                ? 0.0
+                : currentAggregates.filledNotional / (currentAggregates.filledAmountUnits / amountUnitsPerLot);
+    }
+
+    @Override
+    public double signedNotional() {
+        return aggregates().signedNotional;
+    }
+
+    @Override
+    public double stopLossRisk() {
+        return aggregates().stopLossRisk;
+    }
+
+    @Override
+    public double takeProfitReward() {
+        return aggregates().takeProfitReward;
+    }
+
     @Override
     public String toString() {
         return "Position for " + instrument + " contains " + size() + " orders: \r\n"
-                + "Filled orders: " + filled().toString() + "\r\n"
-                + "Opened orders: " + opened().toString() + "\r\n"
-                + "Signed exposure: " + signedExposure();
+                + "Filled orders: " + filledCount() + "\r\n"
+                + "Opened orders: " + openedCount() + "\r\n"
+                + "Signed exposure: " + signedExposure() + "\r\n"
+                + "Average entry price: " + averageEntryPrice();
+    }
+
+    private static final class Aggregates {
+
+        private final int filledCount;
+        private final int openedCount;
+        private final long signedExposureUnits;
+        private final long filledAmountUnits;
+        private final double filledNotional;
+        private final double signedNotional;
+        private final double stopLossRisk;
+        private final double takeProfitReward;
+
+        private static final Aggregates empty = new Aggregates(0, 0, 0L, 0L, 0.0, 0.0, 0.0, 0.0);
+
+        private Aggregates(final int filledCount,
+                           final int openedCount,
+                           final long signedExposureUnits,
+                           final long filledAmountUnits,
+                           final double filledNotional,
+                           final double signedNotional,
+                           final double stopLossRisk,
+                           final double takeProfitReward) {
+            this.filledCount = filledCount;
+            this.openedCount = openedCount;
+            this.signedExposureUnits = signedExposureUnits;
+            this.filledAmountUnits = filledAmountUnits;
+            this.filledNotional = filledNotional;
+            this.signedNotional = signedNotional;
+            this.stopLossRisk = stopLossRisk;
+            this.takeProfitReward = takeProfitReward;
+        }
+    }
+
+    private static final class OrderContribution {
+
+        private final IndexedValues indexedValues = new IndexedValues();
+        private boolean isFilled;
+        private boolean isOpened;
+        private double amount;
+        private double signedAmount;
+        private long amountUnits;
+        private long signedAmountUnits;
+        private double openPrice;
+        private double stopLossRisk;
+        private double takeProfitReward;
+
+        private void update(final IOrder order) {
+            indexedValues.update(order);
+            isFilled = OrderStaticUtil.isFilled.test(order);
+            isOpened = OrderStaticUtil.isOpened.test(order);
+            amount = order.getAmount();
+            signedAmount = OrderStaticUtil.signedAmount(order);
+            amountUnits = Math.round(amount * amountUnitsPerLot);
+            signedAmountUnits = Math.round(signedAmount * amountUnitsPerLot);
+            openPrice = order.getOpenPrice();
+            stopLossRisk = distanceAmount(order.getStopLossPrice(), platformSettings.noSLPrice());
+            takeProfitReward = distanceAmount(order.getTakeProfitPrice(), platformSettings.noTPPrice());
+        }
+
+        private double distanceAmount(final double price,
+                                      final double noPrice) {
+            return price == noPrice
+                    ? 0.0
+                    : amount * Math.abs(openPrice - price);
+        }
     }
 }
@@ -1,21 +1,30 @@
 package com.jforex.programming.position;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
+import com.google.common.collect.MapMaker;
 import com.jforex.programming.order.event.OrderEvent;
 
 import io.reactivex.Observable;
 
 public class PositionFactory {
 
-    private final Observable<OrderEvent> orderEventObservable;
     private final Map<Instrument, Position> positionByInstrument = new ConcurrentHashMap<>();
+    private final ConcurrentMap<IOrder, Position> positionByOrder =
+            new MapMaker().weakKeys().makeMap();
 
     public PositionFactory(final Observable<OrderEvent> orderEventObservable) {
-        this.orderEventObservable = orderEventObservable;
+        orderEventObservable
+            .doOnNext(this::routeOrderEvent)
+            .subscribe();
     }
 
     public Collection<Position> all() {
@@ -23,10 +32,40 @@ public class PositionFactory {
     }
 
     public Position forInstrument(final Instrument instrument) {
-        return positionByInstrument.computeIfAbsent(instrument, this::createNew);
+        return positionByInstrument.computeIfAbsent(instrument, Position::new);
+    }
+
+    public void restoreOrder(final IOrder order) {
+        final Position position = forInstrument(checkNotNull(order).getInstrument());
+        position.addOrder(order);
+        positionByOrder.put(order, position);
+    }
+
+    Optional<Position> maybeForInstrument(final Instrument instrument) {
+        return Optional.ofNullable(positionByInstrument.get(instrument));
+    }
+
+    private void routeOrderEvent(final OrderEvent orderEvent) {
+        final IOrder order = orderEvent.order();
+        final Position containingPosition = positionByOrder.get(order);
+        if (containingPosition != null)
+            routeToContainingPosition(order, containingPosition);
+        else if (Position.isInternalCreateEvent(orderEvent))
+            routeCreatedOrder(order);
+    }
+
+    private final void routeToContainingPosition(final IOrder order,
+                                                 final Position position) {
+        position.onContainedOrderEvent(order);
+        if (!position.contains(order))
+            positionByOrder.remove(order);
     }
 
-    private final Position createNew(final Instrument instrument) {
-        return new Position(instrument, orderEventObservable);
+    private final void routeCreatedOrder(final IOrder order) {
+        final Position position = positionByInstrument.get(order.getInstrument());
+        if (position != null) {
+            position.addOrder(order);
+            positionByOrder.put(order, position);
+        }
     }
 }
@@ -0,0 +1,93 @@
+package com.jforex.programming.position;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import com.dukascopy.api.IOrder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.MapMaker;
+import com.jforex.programming.order.OrderDirection;
+
+final class PositionIndex {
+
+    private final Map<IOrder.State, Set<IOrder>> longOrdersByState = createStateIndex();
+    private final Map<IOrder.State, Set<IOrder>> shortOrdersByState = createStateIndex();
+    private final Map<IOrder.State, Set<IOrder>> conditionalOrdersByState = createStateIndex();
+    private final ConcurrentMap<String, IOrder> orderByLabel =
+            new MapMaker().weakValues().makeMap();
+
+    void add(final IOrder order,
+             final IndexedValues values) {
+        sideIndex(values.isLong).get(values.state).add(order);
+        if (values.isConditional)
+            conditionalOrdersByState.get(values.state).add(order);
+        if (values.label != null)
+            orderByLabel.put(values.label, order);
+    }
+
+    void remove(final IOrder order,
+                final IndexedValues values) {
+        sideIndex(values.isLong).get(values.state).remove(order);
+        if (values.isConditional)
+            conditionalOrdersByState.get(values.state).remove(order);
+        if (values.label != null)
+            orderByLabel.remove(values.label, order);
+    }
+
+    Set<IOrder> inState(final IOrder.State state) {
+        return ImmutableSet
+            .<IOrder> builder()
+            .addAll(longOrdersByState.get(state))
+            .addAll(shortOrdersByState.get(state))
+            .build();
+    }
+
+    Set<IOrder> inState(final IOrder.State state,
+                        final OrderDirection direction) {
+        if (direction == OrderDirection.FLAT)
+            return ImmutableSet.of();
+        return ImmutableSet.copyOf(sideIndex(direction == OrderDirection.LONG).get(state));
+    }
+
+    Set<IOrder> conditionalInState(final IOrder.State state) {
+        return ImmutableSet.copyOf(conditionalOrdersByState.get(state));
+    }
+
+    Optional<IOrder> byLabel(final String label) {
+        return Optional.ofNullable(orderByLabel.get(label));
+    }
+
+    private final Map<IOrder.State, Set<IOrder>> sideIndex(final boolean isLong) {
+        return isLong
+                ? longOrdersByState
+                : shortOrdersByState;
+    }
+
+    private static final Map<IOrder.State, Set<IOrder>> createStateIndex() {
+        final Map<IOrder.State, Set<IOrder>> stateIndex = new EnumMap<>(IOrder.State.class);
+        for (final IOrder.State state : IOrder.State.values())
+            stateIndex.put(state, Collections.newSetFromMap(new MapMaker()
+                .weakKeys()
+                .<IOrder, Boolean> makeMap()));
+        return stateIndex;
+    }
+
+    static final class IndexedValues {
+
+        private IOrder.State state;
+        private boolean isLong;
+        private boolean isConditional;
+        private String label;
+
+        void update(final IOrder order) {
+            state = order.getState();
+            isLong = order.isLong();
+            isConditional = order.getOrderCommand().isConditional();
+            label = order.getLabel();
+        }
+    }
+}
@@ -1,13 +1,12 @@
 package com.jforex.programming.position;
 
-import static com.jforex.programming.order.OrderStaticUtil.isFilled;
-import static com.jforex.programming.order.OrderStaticUtil.isOpened;
-
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
+import com.google.common.collect.Sets;
 import com.jforex.programming.order.OrderDirection;
 import com.jforex.programming.order.OrderStaticUtil;
 
@@ -23,26 +22,42 @@ public interface PositionOrders {
 
     public Set<IOrder> filter(Predicate<IOrder> orderPredicate);
 
-    default OrderDirection direction() {
-        return OrderStaticUtil.combinedDirection(filter(isFilled));
-    }
+    public Set<IOrder> inState(IOrder.State state);
+
+    public Set<IOrder> inState(IOrder.State state,
+                               OrderDirection direction);
+
+    public Set<IOrder> conditionalInState(IOrder.State state);
+
+    public Optional<IOrder> orderByLabel(String label);
+
+    public double signedExposure();
 
-    default double signedExposure() {
-        return filter(isFilled)
-            .stream()
-            .mapToDouble(OrderStaticUtil::signedAmount)
-            .sum();
+    public int filledCount();
+
+    public int openedCount();
+
+    public double averageEntryPrice();
+
+    public double signedNotional();
+
+    public double stopLossRisk();
+
+    public double takeProfitReward();
+
+    default OrderDirection direction() {
+        return OrderStaticUtil.directionForSignedAmount(signedExposure());
     }
 
     default Set<IOrder> filled() {
-        return filter(isFilled);
+        return inState(IOrder.State.FILLED);
     }
 
     default Set<IOrder> opened() {
-        return filter(isOpened);
+        return inState(IOrder.State.OPENED);
     }
 
     default Set<IOrder> filledOrOpened() {
-        return filter(isFilled.or(isOpened));
+        return Sets.union(filled(), opened());
     }
 }
@@ -0,0 +1,217 @@
+package com.jforex.programming.position;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.jforex.programming.order.OrderStaticUtil.isCanceled;
+import static com.jforex.programming.order.OrderStaticUtil.isClosed;
+import static java.util.stream.Collectors.toMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.IOrder;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.event.OrderEventFactory;
+
+public class PositionSnapshotStore {
+
+    private final Path snapshotFile;
+    private final PositionFactory positionFactory;
+    private final OrderEventFactory orderEventFactory;
+
+    private static final int magic = 0x4A465053;
+    private static final short version = 2;
+    private static final int headerSize = Integer.BYTES + Short.BYTES + Long.BYTES;
+    private static final OrderCallReason[] callReasons = OrderCallReason.values();
+    private static final Logger logger = LogManager.getLogger(PositionSnapshotStore.class);
+
+    public PositionSnapshotStore(final Path snapshotFile,
+                                 final PositionFactory positionFactory,
+                                 final OrderEventFactory orderEventFactory) {
+        this.snapshotFile = checkNotNull(snapshotFile);
+        this.positionFactory = positionFactory;
+        this.orderEventFactory = orderEventFactory;
+    }
+
+    public Path snapshotFile() {
+        return snapshotFile;
+    }
+
+    public synchronized boolean write() {
+        final List<byte[]> memberIds = memberIds();
+        final Map<IOrder, List<OrderCallReason>> pendingCallReasons = orderEventFactory.pendingCallReasons();
+        final List<byte[]> reasonIds = new ArrayList<>(pendingCallReasons.size());
+        final List<List<OrderCallReason>> reasonLists = new ArrayList<>(pendingCallReasons.size());
+        pendingCallReasons.forEach((order, reasons) -> {
+            if (hasId(order)) {
+                reasonIds.add(encodeId(order));
+                reasonLists.add(reasons);
+            }
+        });
+
+        final int size = headerSize
+                + Integer.BYTES + encodedSize(memberIds)
+                + Integer.BYTES + encodedSize(reasonIds)
+                + reasonLists.stream().mapToInt(reasons -> Short.BYTES + reasons.size()).sum();
+        final Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            final ByteBuffer buffer = ByteBuffer.allocate(size);
+            buffer.putInt(magic);
+            buffer.putShort(version);
+            buffer.putLong(System.currentTimeMillis());
+            buffer.putInt(memberIds.size());
+            memberIds.forEach(id -> putId(buffer, id));
+            buffer.putInt(reasonIds.size());
+            for (int i = 0; i < reasonIds.size(); ++i) {
+                putId(buffer, reasonIds.get(i));
+                putReasons(buffer, reasonLists.get(i));
+            }
+            buffer.flip();
+
+            try (FileChannel channel = FileChannel.open(tempFile,
+                                                        StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+                channel.force(true);
+            }
+            Files.move(tempFile,
+                       snapshotFile,
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Wrote position snapshot with " + memberIds.size() + " orders to " + snapshotFile);
+            return true;
+        } catch (final IOException e) {
+            logger.error("Writing position snapshot to " + snapshotFile + " failed! " + e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized int restore(final Collection<IOrder> liveOrders) {
+        checkNotNull(liveOrders);
+
+        if (!Files.exists(snapshotFile))
+            return 0;
+
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+            if (buffer.remaining() < headerSize || buffer.getInt() != magic || buffer.getShort() != version) {
+                logger.warn("Position snapshot " + snapshotFile + " has unknown format and is ignored.");
+                return 0;
+            }
+            buffer.getLong();
+
+            final Map<String, IOrder> liveOrderById = liveOrderById(liveOrders);
+            final int restoredCount = restoreMembers(buffer, liveOrderById::get);
+            restoreCallReasons(buffer, liveOrderById::get);
+            logger.info("Restored " + restoredCount + " orders from position snapshot " + snapshotFile);
+            return restoredCount;
+        } catch (final IOException | RuntimeException e) {
+            logger.error("Reading position snapshot " + snapshotFile + " failed! " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private final int restoreMembers(final ByteBuffer buffer,
+                                     final Function<String, IOrder> liveOrderById) {
+        int restoredCount = 0;
+        final int memberCount = buffer.getInt();
+        for (int i = 0; i < memberCount; ++i) {
+            final IOrder order = liveOrderById.apply(getId(buffer));
+            if (order != null && !isClosed.or(isCanceled).test(order)) {
+                positionFactory.restoreOrder(order);
+                ++restoredCount;
+            }
+        }
+        return restoredCount;
+    }
+
+    private final void restoreCallReasons(final ByteBuffer buffer,
+                                          final Function<String, IOrder> liveOrderById) {
+        final int reasonEntryCount = buffer.getInt();
+        for (int i = 0; i < reasonEntryCount; ++i) {
+            final IOrder order = liveOrderById.apply(getId(buffer));
+            final List<OrderCallReason> reasons = getReasons(buffer);
+            if (order != null)
+                orderEventFactory.restoreCallReasons(order, reasons);
+        }
+    }
+
+    private static final Map<String, IOrder> liveOrderById(final Collection<IOrder> liveOrders) {
+        return liveOrders
+            .stream()
+            .filter(order -> order.getId() != null)
+            .collect(toMap(IOrder::getId,
+                           order -> order,
+                           (firstOrder, duplicateOrder) -> firstOrder));
+    }
+
+    private final List<byte[]> memberIds() {
+        final List<byte[]> memberIds = new ArrayList<>();
+        positionFactory
+            .all()
+            .forEach(position -> position
+                .all()
+                .stream()
+                .filter(PositionSnapshotStore::hasId)
+                .forEach(order -> memberIds.add(encodeId(order))));
+        return memberIds;
+    }
+
+    private static final boolean hasId(final IOrder order) {
+        return order.getId() != null;
+    }
+
+    private static final byte[] encodeId(final IOrder order) {
+        return order
+            .getId()
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final int encodedSize(final List<byte[]> ids) {
+        return ids
+            .stream()
+            .mapToInt(id -> Short.BYTES + id.length)
+            .sum();
+    }
+
+    private static final void putId(final ByteBuffer buffer,
+                                    final byte[] id) {
+        buffer.putShort((short) id.length);
+        buffer.put(id);
+    }
+
+    private static final String getId(final ByteBuffer buffer) {
+        final byte[] id = new byte[buffer.getShort()];
+        buffer.get(id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+
+    private static final void putReasons(final ByteBuffer buffer,
+                                         final List<OrderCallReason> reasons) {
+        buffer.putShort((short) reasons.size());
+        reasons.forEach(reason -> buffer.put((byte) reason.ordinal()));
+    }
+
+    private static final List<OrderCallReason> getReasons(final ByteBuffer buffer) {
+        final int reasonCount = buffer.getShort();
+        final List<OrderCallReason> reasons = new ArrayList<>(reasonCount);
+        for (int i = 0; i < reasonCount; ++i)
+            reasons.add(callReasons[buffer.get()]);
+        return reasons;
+    }
+}
@@ -43,4 +43,12 @@ public class PositionUtil {
             .toList()
             .blockingGet();
     }
+
+    public Observable<Observable<OrderEvent>> deferredObservablesFromFactory(final Function<Instrument,
+                                                                                            Observable<OrderEvent>> commandFactory) {
+        return Observable
+            .defer(() -> Observable.fromIterable(positionFactory.all()))
+            .map(Position::instrument)
+            .map(commandFactory::apply);
+    }
 }
@@ -0,0 +1,116 @@
+package com.jforex.programming.quote;
+
+import java.util.List;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import com.dukascopy.api.IBar;
+
+public final class AggregatedBar implements IBar {
+
+    private final long time;
+    private final double open;
+    private final double close;
+    private final double low;
+    private final double high;
+    private final double volume;
+
+    public AggregatedBar(final long time,
+                         final List<IBar> bars) {
+        this.time = time;
+        open = bars.get(0).getOpen();
+        close = bars.get(bars.size() - 1).getClose();
+
+        double minLow = Double.MAX_VALUE;
+        double maxHigh = -Double.MAX_VALUE;
+        double volumeSum = 0.0;
+        for (final IBar bar : bars) {
+            minLow = Math.min(minLow, bar.getLow());
+            maxHigh = Math.max(maxHigh, bar.getHigh());
+            volumeSum += bar.getVolume();
+        }
+        low = minLow;
+        high = maxHigh;
+        volume = volumeSum;
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public double getOpen() {
+        return open;
+    }
+
+    @Override
+    public double getClose() {
+        return close;
+    }
+
+    @Override
+    public double getLow() {
+        return low;
+    }
+
+    @Override
+    public double getHigh() {
+        return high;
+    }
+
+    @Override
+    public double getVolume() {
+        return volume;
+    }
+
+    @Override
+    public int hashCode() {
+        final HashCodeBuilder builder = new HashCodeBuilder();
+        builder.append(time);
+        builder.append(open);
+        builder.append(close);
+        builder.append(low);
+        builder.append(high);
+        builder.append(volume);
+
+        return builder.toHashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof AggregatedBar))
+            return false;
+
+        final AggregatedBar other = (AggregatedBar) obj;
+        final EqualsBuilder builder = new EqualsBuilder();
+        builder.append(time, other.time);
+        builder.append(open, other.open);
+        builder.append(close, other.close);
+        builder.append(low, other.low);
+        builder.append(high, other.high);
+        builder.append(volume, other.volume);
+
+        return builder.isEquals();
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder toStringBuilder = new ToStringBuilder(this, ToStringStyle.DEFAULT_STYLE);
+        toStringBuilder.append("time", time);
+        toStringBuilder.append("open", open);
+        toStringBuilder.append("close", close);
+        toStringBuilder.append("low", low);
+        toStringBuilder.append("high", high);
+        toStringBuilder.append("volume", volume);
+
+        return toStringBuilder.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.jforex.programming.quote;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dukascopy.api.IBar;
+
+public class BarBuffer {
+
+    private final BarParams barParams;
+    private IBar[] bars;
+    private int head;
+    private int size;
+    private boolean isLive;
+
+    public BarBuffer(final BarParams barParams,
+                     final int capacity) {
+        checkArgument(capacity > 0, "Bar buffer capacity must be positive!");
+
+        this.barParams = barParams;
+        bars = new IBar[capacity];
+    }
+
+    public BarParams barParams() {
+        return barParams;
+    }
+
+    public synchronized int capacity() {
+        return bars.length;
+    }
+
+    public synchronized void ensureCapacity(final int capacity) {
+        if (capacity <= bars.length)
+            return;
+
+        final IBar[] grownBars = new IBar[capacity];
+        for (int shift = size - 1; shift >= 0; --shift)
+            grownBars[size - 1 - shift] = bars[physicalIndex(shift)];
+        bars = grownBars;
+        head = size;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isLive() {
+        return isLive;
+    }
+
+    public synchronized void add(final IBar bar,
+                                 final boolean isFromLiveFeed) {
+        isLive = isLive || isFromLiveFeed;
+        if (size == 0 || bar.getTime() > latest().getTime())
+            append(bar);
+        else if (bar.getTime() == latest().getTime())
+            bars[physicalIndex(0)] = bar;
+    }
+
+    private final void append(final IBar bar) {
+        bars[head] = bar;
+        head = head + 1 == bars.length ? 0 : head + 1;
+        if (size < bars.length)
+            ++size;
+    }
+
+    public synchronized IBar latest() {
+        return size == 0
+                ? null
+                : bars[physicalIndex(0)];
+    }
+
+    public synchronized List<IBar> latest(final int noOfBars) {
+        final int windowSize = Math.min(noOfBars, size);
+        final List<IBar> latestBars = new ArrayList<>(windowSize);
+        for (int shift = windowSize - 1; shift >= 0; --shift)
+            latestBars.add(bars[physicalIndex(shift)]);
+        return latestBars;
+    }
+
+    public synchronized List<IBar> between(final long fromTime,
+                                           final long toTime) {
+        final List<IBar> barsInRange = new ArrayList<>();
+        for (int shift = size - 1; shift >= 0; --shift) {
+            final IBar bar = bars[physicalIndex(shift)];
+            if (bar.getTime() >= fromTime && bar.getTime() < toTime)
+                barsInRange.add(bar);
+        }
+        return barsInRange;
+    }
+
+    private final int physicalIndex(final int shift) {
+        final int index = head - 1 - shift;
+        return index < 0
+                ? index + bars.length
+                : index;
+    }
+}
@@ -2,8 +2,10 @@ package com.jforex.programming.quote;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
@@ -16,6 +18,12 @@ public final class BarParams {
     private final Instrument instrument;
     private final Period period;
     private final OfferSide offerSide;
+    private final int slot;
+
+    private static final int noOfInstruments = Instrument.values().length;
+    private static final int noOfOfferSides = OfferSide.values().length;
+    private static volatile Period[] indexedPeriods = Period.values();
+    private static volatile AtomicReferenceArray<BarParams> internedParams = new AtomicReferenceArray<>(0);
 
     public interface AndPeriod {
         public AndOfferSide period(Period period);
@@ -25,16 +33,97 @@ public final class BarParams {
         public BarParams offerSide(OfferSide offerSide);
     }
 
-    private BarParams(final Builder builder) {
-        instrument = builder.instrument;
-        period = builder.period;
-        offerSide = builder.offerSide;
+    private BarParams(final Instrument instrument,
+                      final Period period,
+                      final OfferSide offerSide,
+                      final int slot) {
+        this.instrument = instrument;
+        this.period = period;
+        this.offerSide = offerSide;
+        this.slot = slot;
     }
 
     public static final AndPeriod forInstrument(final Instrument instrument) {
         return new Builder(checkNotNull(instrument));
     }
 
+    public static final BarParams of(final Instrument instrument,
+                                     final Period period,
+                                     final OfferSide offerSide) {
+        checkNotNull(instrument);
+        checkNotNull(period);
+        checkNotNull(offerSide);
+
+        final int slot = slotFor(instrument, period, offerSide);
+        final AtomicReferenceArray<BarParams> params = internedParams;
+        if (slot < params.length()) {
+            final BarParams barParams = params.get(slot);
+            if (barParams != null)
+                return barParams;
+        }
+        return intern(instrument, period, offerSide, slot);
+    }
+
+    private static synchronized final BarParams intern(final Instrument instrument,
+                                                       final Period period,
+                                                       final OfferSide offerSide,
+                                                       final int slot) {
+        if (slot >= internedParams.length())
+            internedParams = grownCopy(internedParams, slotCapacity());
+
+        final BarParams barParams = internedParams.get(slot);
+        if (barParams != null)
+            return barParams;
+
+        final BarParams newParams = new BarParams(instrument, period, offerSide, slot);
+        internedParams.set(slot, newParams);
+        return newParams;
+    }
+
+    static final <T> AtomicReferenceArray<T> grownCopy(final AtomicReferenceArray<T> slots,
+                                                       final int minCapacity) {
+        final AtomicReferenceArray<T> grownSlots =
+                new AtomicReferenceArray<>(Math.max(minCapacity, slots.length() * 2));
+        for (int slot = 0; slot < slots.length(); ++slot)
+            grownSlots.set(slot, slots.get(slot));
+        return grownSlots;
+    }
+
+    private static final int slotFor(final Instrument instrument,
+                                     final Period period,
+                                     final OfferSide offerSide) {
+        return (periodIndex(period) * noOfInstruments + instrument.ordinal()) * noOfOfferSides
+                + offerSide.ordinal();
+    }
+
+    private static final int periodIndex(final Period period) {
+        final Period[] periods = indexedPeriods;
+        for (int periodIndex = 0; periodIndex < periods.length; ++periodIndex)
+            if (periods[periodIndex] == period)
+                return periodIndex;
+        return registerPeriod(period);
+    }
+
+    private static synchronized final int registerPeriod(final Period period) {
+        final Period[] periods = indexedPeriods;
+        for (int periodIndex = 0; periodIndex < periods.length; ++periodIndex)
+            if (periods[periodIndex].equals(period))
+                return periodIndex;
+
+        final Period[] grownPeriods = Arrays.copyOf(periods, periods.length + 1);
+        grownPeriods[periods.length] = period;
+        indexedPeriods = grownPeriods;
+        return periods.length;
+    }
+
+    public static final int slotCapacity() {
+        return indexedPeriods.length * noOfInstruments * noOfOfferSides;
+    }
+
+    public final int slot() {
+        return slot;
+    }
+
     public final Instrument instrument() {
         return instrument;
     }
@@ -72,18 +161,18 @@ public final class BarParams {
             checkNotNull(offerSide);
 
             this.offerSide = offerSide;
-            return new BarParams(this);
+            return BarParams.of(instrument, period, offerSide);
         }
     }
 
     @Override
     public int hashCode() {
-        final HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append(instrument);
-        builder.append(period);
-        builder.append(offerSide);
+        int result = Objects.hashCode(instrument);
+        result = 31 * result + Objects.hashCode(period);
+        result = 31 * result + Objects.hashCode(offerSide);
+        result = 31 * result + slot;
 
-        return builder.toHashCode();
+        return result;
     }
 
     @Override
@@ -96,12 +185,10 @@ public final class BarParams {
             return false;
 
         final BarParams other = (BarParams) obj;
-        final EqualsBuilder builder = new EqualsBuilder();
-        builder.append(instrument, other.instrument);
-        builder.append(period, other.period);
-        builder.append(offerSide, other.offerSide);
-
-        return builder.isEquals();
+        return slot == other.slot
+                && instrument == other.instrument
+                && offerSide == other.offerSide
+                && Objects.equals(period, other.period);
     }
 
     @Override
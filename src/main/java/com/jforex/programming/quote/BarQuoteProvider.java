@@ -14,6 +14,7 @@ public class BarQuoteProvider {
     private final JForexUtil jforexUtil;
     private final Observable<BarQuote> barQuoteObservable;
     private final BarQuoteRepository barQuoteRepository;
+    private final QuoteDispatcher<BarParams, BarQuote> barQuoteDispatcher;
 
     public BarQuoteProvider(final JForexUtil jforexUtil,
                             final Observable<BarQuote> barQuoteObservable,
@@ -21,6 +22,7 @@ public class BarQuoteProvider {
         this.jforexUtil = jforexUtil;
         this.barQuoteObservable = barQuoteObservable;
         this.barQuoteRepository = barQuoteRepository;
+        barQuoteDispatcher = new QuoteDispatcher<>(barQuoteObservable, BarQuote::barParams);
     }
 
     public IBar bar(final BarParams barParams) {
@@ -31,20 +33,24 @@ public class BarQuoteProvider {
             .bar();
     }
 
+    public List<BarQuote> latestBars(final BarParams barParams,
+                                     final int noOfBars) {
+        checkNotNull(barParams);
+
+        return barQuoteRepository.latest(barParams, noOfBars);
+    }
+
     public Observable<BarQuote> observableForParamsList(final List<BarParams> barParamsList) {
         checkNotNull(barParamsList);
 
-        return Observable.merge(Observable
-            .fromIterable(barParamsList)
-            .map(this::observableForParams)
-            .toList()
-            .blockingGet());
+        barParamsList.forEach(this::subscribeToCustomPeriod);
+        barQuoteRepository.warmUp(barParamsList);
+        return barQuoteDispatcher.observableForKeys(barParamsList);
     }
 
-    private final Observable<BarQuote> observableForParams(final BarParams barParams) {
+    private final void subscribeToCustomPeriod(final BarParams barParams) {
         if (barParams.period().name() == null)
             jforexUtil.subscribeToBarsFeed(barParams);
-        return barQuoteObservable.filter(barQuote -> barQuote.barParams().equals(barParams));
     }
 
     public Observable<BarQuote> observable() {
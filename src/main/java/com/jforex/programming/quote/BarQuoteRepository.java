@@ -1,52 +1,269 @@
 package com.jforex.programming.quote;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-
-import org.apache.commons.collections4.keyvalue.MultiKey;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
 
 import com.dukascopy.api.IBar;
+import com.dukascopy.api.Period;
+import com.dukascopy.api.Unit;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.jforex.programming.misc.HistoryUtil;
+import com.jforex.programming.misc.JForexUtil;
 
 import io.reactivex.Observable;
 
 public class BarQuoteRepository {
 
     private final HistoryUtil historyUtil;
-    private final Map<MultiKey<Object>, BarQuote> barQuotes = new ConcurrentHashMap<>();
+    private final int bufferCapacity;
+    private final long candleOffsetMillis;
+    private final List<BarBuffer> activeBuffers = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<BarParams, RollupSources> rollupSourcesByParams = new ConcurrentHashMap<>();
+    private final Set<BarParams> warmingUpParams = Sets.newConcurrentHashSet();
+    private volatile AtomicReferenceArray<BarBuffer> barBuffers =
+            new AtomicReferenceArray<>(BarParams.slotCapacity());
+    private volatile int buffersVersion;
+
+    private static final Map<Unit, Long> millisByUnit =
+            Maps.immutableEnumMap(ImmutableMap.<Unit, Long> builder()
+                .put(Unit.Second, 1000L)
+                .put(Unit.Minute, 60000L)
+                .put(Unit.Hour, 3600000L)
+                .put(Unit.Day, 86400000L)
+                .build());
+
+    public BarQuoteRepository(final Observable<BarQuote> barQuoteObservable,
+                              final HistoryUtil historyUtil,
+                              final int bufferCapacity) {
+        this(barQuoteObservable,
+             historyUtil,
+             bufferCapacity,
+             TimeUnit.MINUTES.toMillis(JForexUtil.userSettings.dailyCandleOffsetMinutes()));
+    }
 
     public BarQuoteRepository(final Observable<BarQuote> barQuoteObservable,
-                              final HistoryUtil historyUtil) {
+                              final HistoryUtil historyUtil,
+                              final int bufferCapacity,
+                              final long candleOffsetMillis) {
         this.historyUtil = historyUtil;
+        this.bufferCapacity = bufferCapacity;
+        this.candleOffsetMillis = candleOffsetMillis;
+
+        barQuoteObservable.subscribe(barQuote -> onBarQuote(barQuote, true));
+    }
+
+    private final void onBarQuote(final BarQuote barQuote,
+                                  final boolean isFromLiveFeed) {
+        bufferFor(barQuote.barParams()).add(barQuote.bar(), isFromLiveFeed);
+    }
 
-        barQuoteObservable.subscribe(this::onBarQuote);
+    private final BarBuffer bufferFor(final BarParams barParams) {
+        final BarBuffer barBuffer = buffer(barParams);
+        return barBuffer == null
+                ? createBuffer(barParams)
+                : barBuffer;
     }
 
-    private final void onBarQuote(final BarQuote barQuote) {
-        final MultiKey<Object> quoteKey = quoteKey(barQuote.barParams());
-        barQuotes.put(quoteKey, barQuote);
+    private final BarBuffer buffer(final BarParams barParams) {
+        final AtomicReferenceArray<BarBuffer> buffers = barBuffers;
+        final int slot = barParams.slot();
+        return slot < buffers.length()
+                ? buffers.get(slot)
+                : null;
     }
 
-    private final MultiKey<Object> quoteKey(final BarParams barParams) {
-        return new MultiKey<Object>(barParams.instrument(),
-                                    barParams.period(),
-                                    barParams.offerSide());
+    private synchronized final BarBuffer createBuffer(final BarParams barParams) {
+        final int slot = barParams.slot();
+        if (slot >= barBuffers.length())
+            barBuffers = BarParams.grownCopy(barBuffers, BarParams.slotCapacity());
+
+        final BarBuffer barBuffer = barBuffers.get(slot);
+        if (barBuffer != null)
+            return barBuffer;
+
+        final BarBuffer newBuffer = new BarBuffer(barParams, bufferCapacity);
+        barBuffers.set(slot, newBuffer);
+        activeBuffers.add(newBuffer);
+        ++buffersVersion;
+        return newBuffer;
     }
 
     public BarQuote get(final BarParams barParams) {
-        final MultiKey<Object> quoteKey = quoteKey(barParams);
-        return barQuotes.containsKey(quoteKey)
-                ? barQuotes.get(quoteKey)
+        final BarBuffer barBuffer = buffer(barParams);
+        if (barBuffer != null && barBuffer.isLive())
+            return new BarQuote(barBuffer.latest(), barParams);
+
+        final IBar rolledUpBar = rollupFromLowerPeriod(barParams);
+        if (rolledUpBar != null)
+            return new BarQuote(rolledUpBar, barParams);
+
+        return barBuffer != null
+                ? new BarQuote(barBuffer.latest(), barParams)
                 : quoteFromHistory(barParams);
     }
 
+    public void warmUp(final Collection<BarParams> barParamsList) {
+        final List<BarParams> notBufferedParams = barParamsList
+            .stream()
+            .filter(barParams -> buffer(barParams) == null)
+            .filter(warmingUpParams::add)
+            .collect(Collectors.toList());
+        if (notBufferedParams.isEmpty())
+            return;
+
+        historyUtil
+            .barQuotesObservable(notBufferedParams)
+            .doAfterTerminate(() -> warmingUpParams.removeAll(notBufferedParams))
+            .subscribe(barQuote -> onBarQuote(barQuote, false));
+    }
+
+    public List<BarQuote> latest(final BarParams barParams,
+                                 final int noOfBars) {
+        final BarBuffer barBuffer = buffer(barParams);
+        if (barBuffer == null)
+            return Collections.emptyList();
+
+        return barBuffer
+            .latest(noOfBars)
+            .stream()
+            .map(bar -> new BarQuote(bar, barParams))
+            .collect(Collectors.toList());
+    }
+
     private final BarQuote quoteFromHistory(final BarParams barParams) {
         final IBar historyBar = historyUtil
             .latestBarObservable(barParams)
             .blockingFirst();
         final BarQuote barQuote = new BarQuote(historyBar, barParams);
-        onBarQuote(barQuote);
+        onBarQuote(barQuote, false);
 
         return barQuote;
     }
+
+    private final IBar rollupFromLowerPeriod(final BarParams barParams) {
+        final long targetInterval = intervalInMillis(barParams.period());
+        if (targetInterval == 0L)
+            return null;
+
+        final RollupSources rollupSources = rollupSourcesFor(barParams, targetInterval);
+        final List<BarBuffer> sourceBuffers = rollupSources.sourceBuffers;
+        for (int i = 0; i < sourceBuffers.size(); ++i) {
+            final BarBuffer sourceBuffer = sourceBuffers.get(i);
+            if (!sourceBuffer.isLive())
+                continue;
+
+            final IBar latestSourceBar = sourceBuffer.latest();
+            final RolledUpBar cachedBar = rollupSources.cachedBar;
+            if (cachedBar != null
+                    && cachedBar.sourceBuffer == sourceBuffer
+                    && cachedBar.sourceTime == latestSourceBar.getTime())
+                return cachedBar.bar;
+
+            final IBar bar = rollup(sourceBuffer, latestSourceBar, targetInterval);
+            if (bar != null) {
+                rollupSources.cachedBar = new RolledUpBar(sourceBuffer, latestSourceBar.getTime(), bar);
+                return bar;
+            }
+        }
+        return null;
+    }
+
+    private final RollupSources rollupSourcesFor(final BarParams barParams,
+                                                 final long targetInterval) {
+        final int version = buffersVersion;
+        final RollupSources rollupSources = rollupSourcesByParams.get(barParams);
+        if (rollupSources != null && rollupSources.buffersVersion == version)
+            return rollupSources;
+
+        final RollupSources newRollupSources =
+                new RollupSources(version, lowerPeriodBuffers(barParams, targetInterval));
+        rollupSourcesByParams.put(barParams, newRollupSources);
+        return newRollupSources;
+    }
+
+    private final List<BarBuffer> lowerPeriodBuffers(final BarParams barParams,
+                                                     final long targetInterval) {
+        return activeBuffers
+            .stream()
+            .filter(barBuffer -> isRollupSource(barBuffer.barParams(), barParams, targetInterval))
+            .sorted((first, second) -> Long.compare(intervalInMillis(second.barParams().period()),
+                                                    intervalInMillis(first.barParams().period())))
+            .collect(Collectors.toList());
+    }
+
+    private final boolean isRollupSource(final BarParams sourceParams,
+                                         final BarParams targetParams,
+                                         final long targetInterval) {
+        final long sourceInterval = intervalInMillis(sourceParams.period());
+        return sourceParams.instrument() == targetParams.instrument()
+                && sourceParams.offerSide() == targetParams.offerSide()
+                && sourceInterval > 0L
+                && sourceInterval < targetInterval
+                && targetInterval % sourceInterval == 0L;
+    }
+
+    private final IBar rollup(final BarBuffer sourceBuffer,
+                              final IBar latestSourceBar,
+                              final long targetInterval) {
+        final long sourceInterval = intervalInMillis(sourceBuffer.barParams().period());
+        final long barsPerWindow = targetInterval / sourceInterval;
+        sourceBuffer.ensureCapacity((int) barsPerWindow);
+
+        final long alignmentOffset = Math.floorMod(candleOffsetMillis, targetInterval);
+        final long windowEnd = Math.floorDiv(latestSourceBar.getTime() + sourceInterval - alignmentOffset,
+                                             targetInterval)
+                * targetInterval + alignmentOffset;
+        final long windowStart = windowEnd - targetInterval;
+        final List<IBar> sourceBars = sourceBuffer.between(windowStart, windowEnd);
+
+        return sourceBars.size() == barsPerWindow
+                ? new AggregatedBar(windowStart, sourceBars)
+                : null;
+    }
+
+    private static final long intervalInMillis(final Period period) {
+        final Long unitMillis = millisByUnit.get(period.getUnit());
+        return unitMillis == null
+                ? 0L
+                : unitMillis * period.getNumOfUnits();
+    }
+
+    private static final class RollupSources {
+
+        private final int buffersVersion;
+        private final List<BarBuffer> sourceBuffers;
+        private volatile RolledUpBar cachedBar;
+
+        private RollupSources(final int buffersVersion,
+                              final List<BarBuffer> sourceBuffers) {
+            this.buffersVersion = buffersVersion;
+            this.sourceBuffers = sourceBuffers;
+        }
+    }
+
+    private static final class RolledUpBar {
+
+        private final BarBuffer sourceBuffer;
+        private final long sourceTime;
+        private final IBar bar;
+
+        private RolledUpBar(final BarBuffer sourceBuffer,
+                            final long sourceTime,
+                            final IBar bar) {
+            this.sourceBuffer = sourceBuffer;
+            this.sourceTime = sourceTime;
+            this.bar = bar;
+        }
+    }
 }
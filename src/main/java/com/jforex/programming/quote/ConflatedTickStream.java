@@ -0,0 +1,118 @@
+package com.jforex.programming.quote;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.dukascopy.api.Instrument;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.Scheduler;
+import io.reactivex.Scheduler.Worker;
+import io.reactivex.disposables.Disposable;
+
+public class ConflatedTickStream {
+
+    private final Observable<TickQuote> tickQuoteObservable;
+    private final Scheduler scheduler;
+    private final Observable<TickQuote> conflatedObservable;
+    private final AtomicBoolean isSubscribed = new AtomicBoolean();
+    private volatile SubscriberState subscriberState;
+
+    private static final int noOfSlots = Instrument.values().length;
+
+    public ConflatedTickStream(final Observable<TickQuote> tickQuoteObservable,
+                               final Scheduler scheduler) {
+        this.tickQuoteObservable = tickQuoteObservable;
+        this.scheduler = scheduler;
+
+        conflatedObservable = Observable.create(this::connect);
+    }
+
+    public Observable<TickQuote> observable() {
+        return conflatedObservable;
+    }
+
+    public long conflatedCount() {
+        final SubscriberState state = subscriberState;
+        if (state == null)
+            return 0L;
+
+        long conflatedCount = 0L;
+        for (int slot = 0; slot < noOfSlots; ++slot)
+            conflatedCount += state.conflatedCounts.get(slot);
+        return conflatedCount;
+    }
+
+    public long conflatedCount(final Instrument instrument) {
+        final SubscriberState state = subscriberState;
+        return state == null
+                ? 0L
+                : state.conflatedCounts.get(instrument.ordinal());
+    }
+
+    private final void connect(final ObservableEmitter<TickQuote> emitter) {
+        if (!isSubscribed.compareAndSet(false, true)) {
+            emitter.onError(new IllegalStateException("Conflated tick stream allows only one subscriber at a time!"));
+            return;
+        }
+
+        final SubscriberState state = new SubscriberState(emitter, scheduler.createWorker());
+        subscriberState = state;
+        final Disposable tickDisposable =
+                tickQuoteObservable.subscribe(state::onTickQuote,
+                                              err -> state.worker.schedule(() -> emitter.onError(err)),
+                                              () -> state.worker.schedule(emitter::onComplete));
+        emitter.setCancellable(() -> {
+            tickDisposable.dispose();
+            state.worker.dispose();
+            isSubscribed.set(false);
+        });
+    }
+
+    private static final class SubscriberState {
+
+        private final ObservableEmitter<TickQuote> emitter;
+        private final Worker worker;
+        private final AtomicReferenceArray<TickQuote> pendingQuotes = new AtomicReferenceArray<>(noOfSlots);
+        private final AtomicLongArray conflatedCounts = new AtomicLongArray(noOfSlots);
+        private final Queue<Instrument> pendingInstruments = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger drainRequests = new AtomicInteger();
+
+        private SubscriberState(final ObservableEmitter<TickQuote> emitter,
+                                final Worker worker) {
+            this.emitter = emitter;
+            this.worker = worker;
+        }
+
+        private final void onTickQuote(final TickQuote tickQuote) {
+            final int slot = tickQuote.instrument().ordinal();
+            if (pendingQuotes.getAndSet(slot, tickQuote) == null)
+                pendingInstruments.offer(tickQuote.instrument());
+            else
+                conflatedCounts.incrementAndGet(slot);
+
+            if (drainRequests.getAndIncrement() == 0)
+                worker.schedule(this::drain);
+        }
+
+        private final void drain() {
+            int missedRequests = 1;
+            while (true) {
+                Instrument instrument;
+                while ((instrument = pendingInstruments.poll()) != null) {
+                    final TickQuote tickQuote = pendingQuotes.getAndSet(instrument.ordinal(), null);
+                    if (tickQuote != null && !emitter.isDisposed())
+                        emitter.onNext(tickQuote);
+                }
+                missedRequests = drainRequests.addAndGet(-missedRequests);
+                if (missedRequests == 0)
+                    return;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.jforex.programming.quote;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.misc.HistoryUtil;
+
+import io.reactivex.Observable;
+
+public class MapTickQuoteRepository implements TickQuoteRepository {
+
+    private final HistoryUtil historyUtil;
+    private final Map<Instrument, TickQuote> quotesByInstrument = new ConcurrentHashMap<>();
+
+    public MapTickQuoteRepository(final Observable<TickQuote> tickQuoteObservable,
+                                  final HistoryUtil historyUtil,
+                                  final Set<Instrument> subscribedInstruments) {
+        this.historyUtil = historyUtil;
+
+        historyUtil
+            .tickQuotesObservable(subscribedInstruments)
+            .subscribe(this::onHistoryTickQuote);
+
+        tickQuoteObservable.subscribe(this::onTickQuote);
+    }
+
+    private final void onTickQuote(final TickQuote tickQuote) {
+        quotesByInstrument.put(tickQuote.instrument(), tickQuote);
+    }
+
+    private final TickQuote onHistoryTickQuote(final TickQuote tickQuote) {
+        final TickQuote storedQuote = quotesByInstrument.putIfAbsent(tickQuote.instrument(), tickQuote);
+        return storedQuote == null
+                ? tickQuote
+                : storedQuote;
+    }
+
+    @Override
+    public TickQuote get(final Instrument instrument) {
+        final TickQuote tickQuote = quotesByInstrument.get(instrument);
+        return tickQuote == null
+                ? quoteFromHistory(instrument)
+                : tickQuote;
+    }
+
+    private final TickQuote quoteFromHistory(final Instrument instrument) {
+        final ITick historyTick = historyUtil
+            .lastestTickObservable(instrument)
+            .blockingFirst();
+
+        return onHistoryTickQuote(new TickQuote(instrument, historyTick));
+    }
+
+    @Override
+    public double ask(final Instrument instrument) {
+        return get(instrument)
+            .tick()
+            .getAsk();
+    }
+
+    @Override
+    public double bid(final Instrument instrument) {
+        return get(instrument)
+            .tick()
+            .getBid();
+    }
+}
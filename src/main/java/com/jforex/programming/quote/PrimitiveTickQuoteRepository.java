@@ -0,0 +1,186 @@
+package com.jforex.programming.quote;
+
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.misc.HistoryUtil;
+
+public class PrimitiveTickQuoteRepository implements TickQuoteRepository {
+
+    private final HistoryUtil historyUtil;
+    private final StampedLock[] locks = new StampedLock[noOfSlots];
+    private final ITick[] ticks = new ITick[noOfSlots];
+    private final TickQuote[] quotes = new TickQuote[noOfSlots];
+    private final double[] prices = new double[noOfSlots * stride];
+    private final long[] times = new long[noOfSlots];
+
+    private static final int noOfSlots = Instrument.values().length;
+    private static final int stride = 4;
+    private static final int bidOffset = 0;
+    private static final int askOffset = 1;
+    private static final int bidVolumeOffset = 2;
+    private static final int askVolumeOffset = 3;
+
+    public PrimitiveTickQuoteRepository(final HistoryUtil historyUtil,
+                                        final Set<Instrument> subscribedInstruments) {
+        this.historyUtil = historyUtil;
+        for (int slot = 0; slot < noOfSlots; ++slot)
+            locks[slot] = new StampedLock();
+
+        historyUtil
+            .tickQuotesObservable(subscribedInstruments)
+            .subscribe(tickQuote -> onHistoryTick(tickQuote.instrument(), tickQuote.tick()));
+    }
+
+    public void onTick(final Instrument instrument,
+                       final ITick tick) {
+        final int slot = instrument.ordinal();
+        final StampedLock lock = locks[slot];
+        final long stamp = lock.writeLock();
+        try {
+            store(slot, tick);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private final ITick onHistoryTick(final Instrument instrument,
+                                      final ITick tick) {
+        final int slot = instrument.ordinal();
+        final StampedLock lock = locks[slot];
+        final long stamp = lock.writeLock();
+        try {
+            if (ticks[slot] == null)
+                store(slot, tick);
+            return ticks[slot];
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private final void store(final int slot,
+                             final ITick tick) {
+        final int priceIndex = slot * stride;
+        ticks[slot] = tick;
+        times[slot] = tick.getTime();
+        prices[priceIndex + bidOffset] = tick.getBid();
+        prices[priceIndex + askOffset] = tick.getAsk();
+        prices[priceIndex + bidVolumeOffset] = tick.getBidVolume();
+        prices[priceIndex + askVolumeOffset] = tick.getAskVolume();
+    }
+
+    private final ITick tickFromHistory(final Instrument instrument) {
+        final ITick historyTick = historyUtil
+            .lastestTickObservable(instrument)
+            .blockingFirst();
+
+        return onHistoryTick(instrument, historyTick);
+    }
+
+    @Override
+    public TickQuote get(final Instrument instrument) {
+        final ITick storedTick = tick(instrument);
+        final ITick tick = storedTick == null
+                ? tickFromHistory(instrument)
+                : storedTick;
+        return quoteForTick(instrument, tick);
+    }
+
+    private final TickQuote quoteForTick(final Instrument instrument,
+                                         final ITick tick) {
+        final int slot = instrument.ordinal();
+        final TickQuote cachedQuote = quotes[slot];
+        if (cachedQuote != null && cachedQuote.tick() == tick)
+            return cachedQuote;
+
+        final TickQuote quote = new TickQuote(instrument, tick);
+        quotes[slot] = quote;
+        return quote;
+    }
+
+    private final ITick tick(final Instrument instrument) {
+        final int slot = instrument.ordinal();
+        final StampedLock lock = locks[slot];
+        final long stamp = lock.tryOptimisticRead();
+        final ITick tick = ticks[slot];
+        if (lock.validate(stamp))
+            return tick;
+
+        final long readStamp = lock.readLock();
+        try {
+            return ticks[slot];
+        } finally {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    public boolean hasTick(final Instrument instrument) {
+        return tick(instrument) != null;
+    }
+
+    @Override
+    public double ask(final Instrument instrument) {
+        return price(instrument, askOffset);
+    }
+
+    @Override
+    public double bid(final Instrument instrument) {
+        return price(instrument, bidOffset);
+    }
+
+    public double askVolume(final Instrument instrument) {
+        return price(instrument, askVolumeOffset);
+    }
+
+    public double bidVolume(final Instrument instrument) {
+        return price(instrument, bidVolumeOffset);
+    }
+
+    public long time(final Instrument instrument) {
+        final int slot = instrument.ordinal();
+        final StampedLock lock = locks[slot];
+        final long stamp = lock.tryOptimisticRead();
+        boolean hasTick = ticks[slot] != null;
+        long time = times[slot];
+        if (!lock.validate(stamp)) {
+            final long readStamp = lock.readLock();
+            try {
+                hasTick = ticks[slot] != null;
+                time = times[slot];
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+        if (hasTick)
+            return time;
+
+        tickFromHistory(instrument);
+        return time(instrument);
+    }
+
+    private final double price(final Instrument instrument,
+                               final int offset) {
+        final int slot = instrument.ordinal();
+        final int index = slot * stride + offset;
+        final StampedLock lock = locks[slot];
+        final long stamp = lock.tryOptimisticRead();
+        boolean hasTick = ticks[slot] != null;
+        double price = prices[index];
+        if (!lock.validate(stamp)) {
+            final long readStamp = lock.readLock();
+            try {
+                hasTick = ticks[slot] != null;
+                price = prices[index];
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+        if (hasTick)
+            return price;
+
+        tickFromHistory(instrument);
+        return price(instrument, offset);
+    }
+}
@@ -0,0 +1,110 @@
+package com.jforex.programming.quote;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.disposables.Disposable;
+
+public class QuoteDispatcher<K, T> {
+
+    private final Observable<T> quoteObservable;
+    private final Function<T, K> keyFunction;
+    private final Map<K, List<ObservableEmitter<T>>> emittersByKey = new ConcurrentHashMap<>();
+    private final Set<ObservableEmitter<T>> emitters = ConcurrentHashMap.newKeySet();
+    private Disposable quoteDisposable;
+    private volatile boolean isTerminated;
+
+    public QuoteDispatcher(final Observable<T> quoteObservable,
+                           final Function<T, K> keyFunction) {
+        this.quoteObservable = quoteObservable;
+        this.keyFunction = keyFunction;
+    }
+
+    public Observable<T> observableForKeys(final Collection<K> keys) {
+        final Set<K> uniqueKeys = new HashSet<>(keys);
+
+        return Observable.create(emitter -> {
+            if (isTerminated) {
+                emitter.onComplete();
+                return;
+            }
+            emitters.add(emitter);
+            uniqueKeys.forEach(key -> addEmitter(emitter, key));
+            emitter.setCancellable(() -> removeEmitter(emitter, uniqueKeys));
+            connect();
+        });
+    }
+
+    public int noOfRoutes(final K key) {
+        final List<ObservableEmitter<T>> keyEmitters = emittersByKey.get(key);
+        return keyEmitters == null
+                ? 0
+                : keyEmitters.size();
+    }
+
+    public synchronized boolean isConnected() {
+        return quoteDisposable != null;
+    }
+
+    private final void addEmitter(final ObservableEmitter<T> emitter,
+                                  final K key) {
+        emittersByKey.compute(key, (k, keyEmitters) -> {
+            final List<ObservableEmitter<T>> emittersOfKey = keyEmitters == null
+                    ? new CopyOnWriteArrayList<>()
+                    : keyEmitters;
+            emittersOfKey.add(emitter);
+            return emittersOfKey;
+        });
+    }
+
+    private final void removeEmitter(final ObservableEmitter<T> emitter,
+                                     final Set<K> keys) {
+        emitters.remove(emitter);
+        keys.forEach(key -> emittersByKey.computeIfPresent(key, (k, keyEmitters) -> {
+            keyEmitters.remove(emitter);
+            return keyEmitters.isEmpty()
+                    ? null
+                    : keyEmitters;
+        }));
+        disconnectIfUnused();
+    }
+
+    private synchronized final void connect() {
+        if (quoteDisposable == null)
+            quoteDisposable = quoteObservable.subscribe(this::dispatch,
+                                                        this::onError,
+                                                        this::onComplete);
+    }
+
+    private synchronized final void disconnectIfUnused() {
+        if (quoteDisposable != null && emittersByKey.isEmpty()) {
+            quoteDisposable.dispose();
+            quoteDisposable = null;
+        }
+    }
+
+    private final void dispatch(final T quote) {
+        final List<ObservableEmitter<T>> keyEmitters = emittersByKey.get(keyFunction.apply(quote));
+        if (keyEmitters != null)
+            for (final ObservableEmitter<T> emitter : keyEmitters)
+                emitter.onNext(quote);
+    }
+
+    private final void onError(final Throwable error) {
+        isTerminated = true;
+        emitters.forEach(emitter -> emitter.onError(error));
+    }
+
+    private final void onComplete() {
+        isTerminated = true;
+        emitters.forEach(ObservableEmitter::onComplete);
+    }
+}
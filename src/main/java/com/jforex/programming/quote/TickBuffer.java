@@ -0,0 +1,207 @@
+package com.jforex.programming.quote;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.locks.StampedLock;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+
+public class TickBuffer {
+
+    private final Instrument instrument;
+    private final int capacity;
+    private final long[] times;
+    private final double[] bids;
+    private final double[] asks;
+    private final double[] bidVolumes;
+    private final double[] askVolumes;
+    private final StampedLock lock = new StampedLock();
+    private int head;
+    private int size;
+    private long appendCount;
+
+    private static final int bytesPerTick = Long.BYTES + 4 * Double.BYTES;
+
+    public interface TickVisitor {
+        public void visit(long time,
+                          double bid,
+                          double ask,
+                          double bidVolume,
+                          double askVolume);
+    }
+
+    public TickBuffer(final Instrument instrument,
+                      final int capacity) {
+        checkArgument(capacity > 0, "Tick buffer capacity must be positive!");
+
+        this.instrument = instrument;
+        this.capacity = capacity;
+        times = new long[capacity];
+        bids = new double[capacity];
+        asks = new double[capacity];
+        bidVolumes = new double[capacity];
+        askVolumes = new double[capacity];
+    }
+
+    public Instrument instrument() {
+        return instrument;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        final long stamp = lock.tryOptimisticRead();
+        final int currentSize = size;
+        if (lock.validate(stamp))
+            return currentSize;
+
+        final long readStamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    public long memoryInBytes() {
+        return (long) capacity * bytesPerTick;
+    }
+
+    public void append(final ITick tick) {
+        final long stamp = lock.writeLock();
+        try {
+            times[head] = tick.getTime();
+            bids[head] = tick.getBid();
+            asks[head] = tick.getAsk();
+            bidVolumes[head] = tick.getBidVolume();
+            askVolumes[head] = tick.getAskVolume();
+            head = head + 1 == capacity ? 0 : head + 1;
+            if (size < capacity)
+                ++size;
+            ++appendCount;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public long time(final int shift) {
+        final long stamp = lock.tryOptimisticRead();
+        if (shift >= 0 && shift < size) {
+            final long time = times[physicalIndex(shift)];
+            if (lock.validate(stamp))
+                return time;
+        }
+
+        final long readStamp = lock.readLock();
+        try {
+            return times[indexForShift(shift)];
+        } finally {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    public double bid(final int shift) {
+        return column(bids, shift);
+    }
+
+    public double ask(final int shift) {
+        return column(asks, shift);
+    }
+
+    public double bidVolume(final int shift) {
+        return column(bidVolumes, shift);
+    }
+
+    public double askVolume(final int shift) {
+        return column(askVolumes, shift);
+    }
+
+    private final double column(final double[] values,
+                                final int shift) {
+        final long stamp = lock.tryOptimisticRead();
+        if (shift >= 0 && shift < size) {
+            final double value = values[physicalIndex(shift)];
+            if (lock.validate(stamp))
+                return value;
+        }
+
+        final long readStamp = lock.readLock();
+        try {
+            return values[indexForShift(shift)];
+        } finally {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    public void forEach(final TickVisitor visitor) {
+        forWindow(capacity, visitor);
+    }
+
+    public void forWindow(final int noOfTicks,
+                          final TickVisitor visitor) {
+        long stamp = lock.tryOptimisticRead();
+        int windowSize = Math.min(noOfTicks, size);
+        long lastSequence = appendCount;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                windowSize = Math.min(noOfTicks, size);
+                lastSequence = appendCount;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        for (long sequence = lastSequence - windowSize; sequence < lastSequence; ++sequence)
+            visitTick(sequence, visitor);
+    }
+
+    private final void visitTick(final long sequence,
+                                 final TickVisitor visitor) {
+        final int index = (int) (sequence % capacity);
+        long stamp = lock.tryOptimisticRead();
+        long time = times[index];
+        double bid = bids[index];
+        double ask = asks[index];
+        double bidVolume = bidVolumes[index];
+        double askVolume = askVolumes[index];
+        boolean isBuffered = appendCount - sequence <= capacity;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                time = times[index];
+                bid = bids[index];
+                ask = asks[index];
+                bidVolume = bidVolumes[index];
+                askVolume = askVolumes[index];
+                isBuffered = appendCount - sequence <= capacity;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        if (isBuffered)
+            visitor.visit(time,
+                          bid,
+                          ask,
+                          bidVolume,
+                          askVolume);
+    }
+
+    private final int indexForShift(final int shift) {
+        if (shift < 0 || shift >= size)
+            throw new IndexOutOfBoundsException("Shift " + shift + " is out of range for " + size
+                    + " buffered ticks of " + instrument + "!");
+        return physicalIndex(shift);
+    }
+
+    private final int physicalIndex(final int shift) {
+        final int index = head - 1 - shift;
+        return index < 0
+                ? index + capacity
+                : index;
+    }
+}
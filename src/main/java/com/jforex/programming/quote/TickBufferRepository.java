@@ -0,0 +1,58 @@
+package com.jforex.programming.quote;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.dukascopy.api.Instrument;
+import com.google.common.collect.Maps;
+
+import io.reactivex.Observable;
+
+public class TickBufferRepository {
+
+    private final int capacity;
+    private final AtomicReferenceArray<TickBuffer> buffers =
+            new AtomicReferenceArray<>(Instrument.values().length);
+
+    public TickBufferRepository(final Observable<TickQuote> tickQuoteObservable,
+                                final int capacity) {
+        this.capacity = capacity;
+
+        tickQuoteObservable.subscribe(this::onTickQuote);
+    }
+
+    private final void onTickQuote(final TickQuote tickQuote) {
+        buffer(tickQuote.instrument()).append(tickQuote.tick());
+    }
+
+    public TickBuffer buffer(final Instrument instrument) {
+        final int slot = instrument.ordinal();
+        final TickBuffer buffer = buffers.get(slot);
+        if (buffer != null)
+            return buffer;
+
+        buffers.compareAndSet(slot, null, new TickBuffer(instrument, capacity));
+        return buffers.get(slot);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long memoryInBytes(final Instrument instrument) {
+        final TickBuffer buffer = buffers.get(instrument.ordinal());
+        return buffer == null
+                ? 0L
+                : buffer.memoryInBytes();
+    }
+
+    public Map<Instrument, Long> memoryInBytesByInstrument() {
+        final Map<Instrument, Long> memoryByInstrument = Maps.newEnumMap(Instrument.class);
+        for (int slot = 0; slot < buffers.length(); ++slot) {
+            final TickBuffer buffer = buffers.get(slot);
+            if (buffer != null)
+                memoryByInstrument.put(buffer.instrument(), buffer.memoryInBytes());
+        }
+        return memoryByInstrument;
+    }
+}
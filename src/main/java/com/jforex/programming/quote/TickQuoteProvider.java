@@ -9,16 +9,19 @@ import com.dukascopy.api.Instrument;
 import com.dukascopy.api.OfferSide;
 
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
 
 public class TickQuoteProvider {
 
     private final Observable<TickQuote> tickQuoteObservable;
     private final TickQuoteRepository tickQuoteRepository;
+    private final QuoteDispatcher<Instrument, TickQuote> tickQuoteDispatcher;
 
     public TickQuoteProvider(final Observable<TickQuote> tickQuoteObservable,
                              final TickQuoteRepository tickQuoteRepository) {
         this.tickQuoteObservable = tickQuoteObservable;
         this.tickQuoteRepository = tickQuoteRepository;
+        tickQuoteDispatcher = new QuoteDispatcher<>(tickQuoteObservable, TickQuote::instrument);
     }
 
     public ITick tick(final Instrument instrument) {
@@ -32,13 +35,13 @@ public class TickQuoteProvider {
     public double ask(final Instrument instrument) {
         checkNotNull(instrument);
 
-        return tick(instrument).getAsk();
+        return tickQuoteRepository.ask(instrument);
     }
 
     public double bid(final Instrument instrument) {
         checkNotNull(instrument);
 
-        return tick(instrument).getBid();
+        return tickQuoteRepository.bid(instrument);
     }
 
     public double forOfferSide(final Instrument instrument,
@@ -55,10 +58,15 @@ public class TickQuoteProvider {
         return tickQuoteObservable;
     }
 
+    public ConflatedTickStream conflatedStream(final Scheduler scheduler) {
+        checkNotNull(scheduler);
+
+        return new ConflatedTickStream(tickQuoteObservable, scheduler);
+    }
+
     public Observable<TickQuote> observableForInstruments(final Set<Instrument> instruments) {
         checkNotNull(instruments);
 
-        return tickQuoteObservable
-            .filter(tickQuote -> instruments.contains(tickQuote.instrument()));
+        return tickQuoteDispatcher.observableForKeys(instruments);
     }
 }
@@ -3,6 +3,9 @@ package com.jforex.programming.settings;
 import org.aeonbits.owner.Config;
 import org.aeonbits.owner.Config.Sources;
 
+import com.jforex.programming.misc.OverflowStrategy;
+import com.jforex.programming.misc.RetryBackoff;
+
 @Sources({ "file:UserSettings.properties" })
 public interface UserSettings extends Config {
 
@@ -34,6 +37,18 @@ public interface UserSettings extends Config {
     @DefaultValue("1500")
     public long delayOnOrderFailRetry();
 
+    @Key("order.retrybackoff")
+    @DefaultValue("CONSTANT")
+    public RetryBackoff orderRetryBackoff();
+
+    @Key("order.maxretrydelayonorderfail")
+    @DefaultValue("12000")
+    public long maxDelayOnOrderFailRetry();
+
+    @Key("order.retrybudget")
+    @DefaultValue("0")
+    public int orderRetryBudget();
+
     @Key("history.maxretriesonhistoryfail")
     @DefaultValue("5")
     public int maxRetriesOnHistoryFail();
@@ -42,10 +57,118 @@ public interface UserSettings extends Config {
     @DefaultValue("500")
     public long delayOnHistoryFailRetry();
 
+    @Key("history.retrybackoff")
+    @DefaultValue("CONSTANT")
+    public RetryBackoff historyRetryBackoff();
+
+    @Key("history.maxretrydelayonhistoryfail")
+    @DefaultValue("4000")
+    public long maxDelayOnHistoryFailRetry();
+
+    @Key("history.retrybudget")
+    @DefaultValue("0")
+    public int historyRetryBudget();
+
+    @Key("retry.budgetwindowmillis")
+    @DefaultValue("60000")
+    public long retryBudgetWindow();
+
+    @Key("history.maxconcurrentrequests")
+    @DefaultValue("8")
+    public int maxConcurrentHistoryRequests();
+
     @Key("env.enableweekendquotefilter")
     @DefaultValue("true")
     public boolean enableWeekendQuoteFilter();
 
+    @Key("order.maxconcurrentbatchcalls")
+    @DefaultValue("2147483647")
+    public int maxConcurrentBatchCalls();
+
+    @Key("order.enableenginecalllimiter")
+    @DefaultValue("false")
+    public boolean enableEngineCallLimiter();
+
+    @Key("order.minenginecallspersecond")
+    @DefaultValue("1")
+    public double minEngineCallsPerSecond();
+
+    @Key("order.maxenginecallspersecond")
+    @DefaultValue("20")
+    public double maxEngineCallsPerSecond();
+
+    @Key("order.enginecallburstsize")
+    @DefaultValue("10")
+    public int engineCallBurstSize();
+
+    @Key("quote.useprimitivetickrepository")
+    @DefaultValue("false")
+    public boolean usePrimitiveTickRepository();
+
+    @Key("quote.tickbuffercapacity")
+    @DefaultValue("0")
+    public int tickBufferCapacity();
+
+    @Key("quote.barbuffercapacity")
+    @DefaultValue("300")
+    public int barBufferCapacity();
+
+    @Key("quote.dailycandleoffsetminutes")
+    @DefaultValue("0")
+    public int dailyCandleOffsetMinutes();
+
+    @Key("stream.tickoverflowstrategy")
+    @DefaultValue("LATEST")
+    public OverflowStrategy tickOverflowStrategy();
+
+    @Key("stream.tickbuffersize")
+    @DefaultValue("1024")
+    public int tickFlowableBufferSize();
+
+    @Key("stream.baroverflowstrategy")
+    @DefaultValue("DROP_OLDEST")
+    public OverflowStrategy barOverflowStrategy();
+
+    @Key("stream.barbuffersize")
+    @DefaultValue("256")
+    public int barFlowableBufferSize();
+
+    @Key("stream.messageoverflowstrategy")
+    @DefaultValue("ERROR")
+    public OverflowStrategy messageOverflowStrategy();
+
+    @Key("stream.messagebuffersize")
+    @DefaultValue("4096")
+    public int messageFlowableBufferSize();
+
+    @Key("stream.subscriberlanepoolsize")
+    @DefaultValue("0")
+    public int subscriberLanePoolSize();
+
+    @Key("stream.subscriberlaneringsize")
+    @DefaultValue("4096")
+    public int subscriberLaneRingSize();
+
+    @Key("strategythread.coalescedbatchsize")
+    @DefaultValue("0")
+    public int strategyThreadBatchSize();
+
+    @Key("snapshot.enable")
+    @DefaultValue("false")
+    public boolean enablePositionSnapshot();
+
+    @Key("snapshot.file")
+    @DefaultValue("JForexUtilPositions.snapshot")
+    public String positionSnapshotFile();
+
+    @Key("snapshot.intervalseconds")
+    @DefaultValue("60")
+    public long positionSnapshotIntervalSeconds();
+
+    @Key("env.prefervirtualthreads")
+    @DefaultValue("true")
+    public boolean preferVirtualThreads();
+
     @Key("env.logintimeoutseconds")
     @DefaultValue("20")
     public int logintimeoutseconds();
@@ -0,0 +1,105 @@
+package com.jforex.programming.misc.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+
+import com.jforex.programming.misc.CoalescingTaskQueue;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+
+@RunWith(HierarchicalContextRunner.class)
+public class CoalescingTaskQueueTest extends CommonUtilForTest {
+
+    private CoalescingTaskQueue taskQueue;
+
+    @Captor
+    private ArgumentCaptor<Callable<Boolean>> drainCaptor;
+    private TestObserver<Integer> firstObserver;
+    private TestObserver<Integer> secondObserver;
+    private TestObserver<Integer> thirdObserver;
+
+    @Before
+    public void setUp() {
+        taskQueue = new CoalescingTaskQueue(contextMock, 2);
+
+        firstObserver = taskQueue
+            .submit(() -> 1)
+            .test();
+        secondObserver = taskQueue
+            .submit(() -> 2)
+            .test();
+        thirdObserver = taskQueue
+            .submit(() -> 3)
+            .test();
+    }
+
+    private void runLastDrain() throws Exception {
+        verify(contextMock, atLeastOnce()).executeTask(drainCaptor.capture());
+        drainCaptor.getValue().call();
+    }
+
+    @Test
+    public void allSubmitsAreCoalescedIntoOneTask() {
+        verify(contextMock).executeTask(any());
+        assertThat(taskQueue.pendingCount(), equalTo(3));
+        firstObserver.assertNoValues();
+    }
+
+    public class AfterFirstBatch {
+
+        @Before
+        public void setUp() throws Exception {
+            runLastDrain();
+        }
+
+        @Test
+        public void batchIsLimitedToMaxBatchSize() {
+            firstObserver.assertValue(1);
+            secondObserver.assertValue(2);
+            thirdObserver.assertNoValues();
+            assertThat(taskQueue.executedCount(), equalTo(2L));
+        }
+
+        @Test
+        public void remainingTasksAreRescheduled() throws Exception {
+            verify(contextMock, times(2)).executeTask(any());
+
+            runLastDrain();
+
+            thirdObserver.assertValue(3);
+            assertThat(taskQueue.batchCount(), equalTo(2L));
+        }
+    }
+
+    public class WhenSchedulingFails {
+
+        private TestObserver<Integer> failedObserver;
+        private final RuntimeException scheduleException = new RuntimeException();
+
+        @Before
+        public void setUp() throws Exception {
+            runLastDrain();
+            runLastDrain();
+            when(contextMock.executeTask(any())).thenThrow(scheduleException);
+
+            failedObserver = taskQueue
+                .submit(() -> 4)
+                .test();
+        }
+
+        @Test
+        public void pendingTaskGetsError() {
+            failedObserver.assertError(scheduleException);
+        }
+    }
+}
@@ -15,8 +15,11 @@ import com.dukascopy.api.ITick;
 import com.dukascopy.api.Instrument;
 import com.dukascopy.api.JFException;
 import com.dukascopy.api.OfferSide;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.jforex.programming.misc.HistoryUtil;
+import com.jforex.programming.misc.WarmUpProgress;
+import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.quote.TickQuote;
 import com.jforex.programming.test.common.QuoteProviderForTest;
 import com.jforex.programming.test.common.RxTestUtil;
@@ -29,6 +32,7 @@ public class HistoryUtilTest extends QuoteProviderForTest {
 
     private final TestObserver<ITick> tickSubscriber = TestObserver.create();
     private final TestObserver<IBar> barSubscriber = TestObserver.create();
+    private final TestObserver<WarmUpProgress> progressSubscriber = TestObserver.create();
 
     @Before
     public void setUp() {
@@ -49,6 +53,11 @@ public class HistoryUtilTest extends QuoteProviderForTest {
         barSubscriber.assertValue(askBarEURUSD);
     }
 
+    private void advanceRetryTime() {
+        RxTestUtil.advanceTimeInMillisBy(userSettings.maxRetriesOnHistoryFail()
+                * userSettings.delayOnHistoryFailRetry());
+    }
+
     @Test
     public void latestTickIsCorrect() throws JFException {
         when(historyMock.getLastTick(instrumentEURUSD))
@@ -61,6 +70,14 @@ public class HistoryUtilTest extends QuoteProviderForTest {
         assertTickSubscriber();
     }
 
+    @Test
+    public void blockingLatestTickIsCorrect() throws JFException {
+        when(historyMock.getLastTick(instrumentEURUSD))
+            .thenReturn(tickEURUSD);
+
+        assertThat(historyUtil.latestTick(instrumentEURUSD), equalTo(tickEURUSD));
+    }
+
     @Test
     public void latestTickWithRetriesIsCorrect() throws JFException {
         when(historyMock.getLastTick(instrumentEURUSD))
@@ -73,7 +90,7 @@ public class HistoryUtilTest extends QuoteProviderForTest {
             .lastestTickObservable(instrumentEURUSD)
             .subscribe(tickSubscriber);
 
-        RxTestUtil.advanceTimeInMillisBy(5000L);
+        advanceRetryTime();
 
         verify(historyMock, times(4)).getLastTick(instrumentEURUSD);
         assertTickSubscriber();
@@ -99,6 +116,74 @@ public class HistoryUtilTest extends QuoteProviderForTest {
                    equalTo(tickQuoteAUDUSD));
     }
 
+    @Test
+    public void warmUpProgressIsInitiallyEmpty() {
+        historyUtil
+            .warmUpProgressObservable()
+            .subscribe(progressSubscriber);
+
+        progressSubscriber.assertValue(new WarmUpProgress(0, 0, 0));
+    }
+
+    @Test
+    public void warmUpProgressIsReportedForEachInstrument() throws JFException {
+        final Set<Instrument> instruments = Sets.newHashSet(instrumentEURUSD, instrumentAUDUSD);
+        when(historyMock.getLastTick(instrumentEURUSD))
+            .thenReturn(tickEURUSD);
+        when(historyMock.getLastTick(instrumentAUDUSD))
+            .thenReturn(tickAUDUSD);
+        historyUtil
+            .warmUpProgressObservable()
+            .subscribe(progressSubscriber);
+
+        historyUtil
+            .tickQuotesObservable(instruments)
+            .subscribe();
+
+        progressSubscriber.assertValues(new WarmUpProgress(0, 0, 0),
+                                        new WarmUpProgress(2, 0, 0),
+                                        new WarmUpProgress(2, 1, 0),
+                                        new WarmUpProgress(2, 2, 0));
+    }
+
+    @Test
+    public void failedInstrumentDoesNotStopWarmUp() throws JFException {
+        final Set<Instrument> instruments = Sets.newHashSet(instrumentEURUSD, instrumentAUDUSD);
+        when(historyMock.getLastTick(instrumentEURUSD))
+            .thenReturn(tickEURUSD);
+        when(historyMock.getLastTick(instrumentAUDUSD))
+            .thenThrow(jfException);
+        final TestObserver<TickQuote> quoteSubscriber = TestObserver.create();
+
+        historyUtil
+            .tickQuotesObservable(instruments)
+            .subscribe(quoteSubscriber);
+
+        advanceRetryTime();
+
+        quoteSubscriber.assertNoErrors();
+        quoteSubscriber.assertComplete();
+        quoteSubscriber.assertValue(tickQuoteEURUSD);
+        historyUtil
+            .warmUpProgressObservable()
+            .subscribe(progressSubscriber);
+        progressSubscriber.assertValue(new WarmUpProgress(2, 1, 1));
+    }
+
+    @Test
+    public void barQuotesAreWarmedUp() throws JFException {
+        when(historyMock.getBar(instrumentEURUSD, barQuotePeriod, OfferSide.ASK, 1))
+            .thenReturn(askBarEURUSD);
+        final TestObserver<BarQuote> quoteSubscriber = TestObserver.create();
+
+        historyUtil
+            .barQuotesObservable(Lists.newArrayList(askBarEURUSDParams))
+            .subscribe(quoteSubscriber);
+
+        quoteSubscriber.assertComplete();
+        quoteSubscriber.assertValue(askBarQuoteEURUSD);
+    }
+
     @Test
     public void latestBarIsCorrect() throws JFException {
         when(historyMock.getBar(instrumentEURUSD, barQuotePeriod, OfferSide.ASK, 1))
@@ -123,7 +208,7 @@ public class HistoryUtilTest extends QuoteProviderForTest {
             .latestBarObservable(askBarEURUSDParams)
             .subscribe(barSubscriber);
 
-        RxTestUtil.advanceTimeInMillisBy(5000L);
+        advanceRetryTime();
 
         verify(historyMock, times(4)).getBar(instrumentEURUSD,
                                              barQuotePeriod,
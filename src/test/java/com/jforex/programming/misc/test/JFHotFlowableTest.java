@@ -0,0 +1,103 @@
+package com.jforex.programming.misc.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.jforex.programming.misc.JFHotFlowable;
+import com.jforex.programming.misc.JFHotPublisher;
+import com.jforex.programming.misc.OverflowStrategy;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.subscribers.TestSubscriber;
+
+@RunWith(HierarchicalContextRunner.class)
+public class JFHotFlowableTest extends CommonUtilForTest {
+
+    private JFHotFlowable<Integer> jfHotFlowable;
+
+    private final JFHotPublisher<Integer> jfHotPublisher = new JFHotPublisher<>();
+    private final TestSubscriber<Integer> testSubscriber = TestSubscriber.create(0L);
+
+    private void setUpFlowable(final OverflowStrategy overflowStrategy) {
+        jfHotFlowable = new JFHotFlowable<>(jfHotPublisher.observable(),
+                                            overflowStrategy,
+                                            2);
+        jfHotFlowable
+            .flowable()
+            .subscribe(testSubscriber);
+    }
+
+    private void publishFourItemsAndRequestAll() {
+        jfHotPublisher.onNext(1);
+        jfHotPublisher.onNext(2);
+        jfHotPublisher.onNext(3);
+        jfHotPublisher.onNext(4);
+
+        testSubscriber.request(Long.MAX_VALUE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroBufferSizeIsNotAllowed() {
+        new JFHotFlowable<>(jfHotPublisher.observable(),
+                            OverflowStrategy.BUFFER_DROP_LATEST,
+                            0);
+    }
+
+    @Test
+    public void allItemsAreEmittedWhenConsumerRequestsInTime() {
+        setUpFlowable(OverflowStrategy.ERROR);
+        testSubscriber.request(Long.MAX_VALUE);
+
+        jfHotPublisher.onNext(1);
+        jfHotPublisher.onNext(2);
+        jfHotPublisher.onNext(3);
+
+        testSubscriber.assertValues(1, 2, 3);
+        assertThat(jfHotFlowable.overflowCount(), equalTo(0L));
+    }
+
+    @Test
+    public void dropOldestKeepsNewestItems() {
+        setUpFlowable(OverflowStrategy.DROP_OLDEST);
+
+        publishFourItemsAndRequestAll();
+
+        testSubscriber.assertValues(3, 4);
+        assertThat(jfHotFlowable.overflowCount(), equalTo(2L));
+    }
+
+    @Test
+    public void latestKeepsOnlyNewestItem() {
+        setUpFlowable(OverflowStrategy.LATEST);
+
+        publishFourItemsAndRequestAll();
+
+        testSubscriber.assertValues(4);
+        assertThat(jfHotFlowable.overflowCount(), equalTo(3L));
+    }
+
+    @Test
+    public void bufferDropLatestReplacesLatestBufferedItem() {
+        setUpFlowable(OverflowStrategy.BUFFER_DROP_LATEST);
+
+        publishFourItemsAndRequestAll();
+
+        testSubscriber.assertValues(1, 4);
+        assertThat(jfHotFlowable.overflowCount(), equalTo(2L));
+    }
+
+    @Test
+    public void errorIsEmittedOnOverflow() {
+        setUpFlowable(OverflowStrategy.ERROR);
+
+        publishFourItemsAndRequestAll();
+
+        testSubscriber.assertError(MissingBackpressureException.class);
+        assertThat(jfHotFlowable.overflowStrategy(), equalTo(OverflowStrategy.ERROR));
+    }
+}
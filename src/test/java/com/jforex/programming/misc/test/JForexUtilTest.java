@@ -3,6 +3,7 @@ package com.jforex.programming.misc.test;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -15,6 +16,9 @@ import com.dukascopy.api.IMessage;
 import com.dukascopy.api.OfferSide;
 import com.jforex.programming.instrument.InstrumentUtil;
 import com.jforex.programming.misc.JForexUtil;
+import com.jforex.programming.misc.RetryBackoff;
+import com.jforex.programming.misc.RetryPolicy;
+import com.jforex.programming.misc.SubscriberLane;
 import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.quote.BarQuoteProvider;
 import com.jforex.programming.quote.TickQuote;
@@ -59,6 +63,52 @@ public class JForexUtilTest extends QuoteProviderForTest {
         assertNotNull(jForexUtil.historyUtil());
     }
 
+    @Test
+    public void historyWarmUpProgressIsValid() {
+        assertNotNull(jForexUtil.historyWarmUpProgress());
+    }
+
+    @Test
+    public void flowablesAreValid() {
+        assertNotNull(jForexUtil.tickQuoteFlowable());
+        assertNotNull(jForexUtil.barQuoteFlowable());
+        assertNotNull(jForexUtil.messageFlowable());
+    }
+
+    @Test
+    public void offStrategyThreadSubscriberIsRegisteredAndDisposedOnStop() {
+        final SubscriberLane<TickQuote> lane = jForexUtil.subscribeOffStrategyThread(jForexUtil
+            .tickQuoteProvider()
+            .observable(), tickQuote -> {});
+
+        assertThat(jForexUtil.subscriberLanes().size(), equalTo(1));
+
+        jForexUtil.onStop();
+
+        assertTrue(lane.isDisposed());
+    }
+
+    @Test
+    public void disposedOffStrategyThreadSubscriberIsUnregistered() {
+        final SubscriberLane<TickQuote> lane = jForexUtil.subscribeOffStrategyThread(jForexUtil
+            .tickQuoteProvider()
+            .observable(), tickQuote -> {});
+
+        lane.dispose();
+
+        assertTrue(jForexUtil.subscriberLanes().isEmpty());
+    }
+
+    @Test
+    public void orderRetryPolicyDefaultsToConstantBackoffWithoutBudget() {
+        final RetryPolicy orderRetryPolicy = jForexUtil.orderRetryPolicy();
+
+        assertThat(orderRetryPolicy.backoff(), equalTo(RetryBackoff.CONSTANT));
+        assertThat(orderRetryPolicy.noOfRetries(), equalTo(userSettings.maxRetriesOnOrderFail()));
+        assertThat(orderRetryPolicy.baseDelay(), equalTo(userSettings.delayOnOrderFailRetry()));
+        assertThat(orderRetryPolicy.retryBudget().availableRetries(), equalTo((double) Integer.MAX_VALUE));
+    }
+
     @Test
     public void returnedCalculationUtilIsValid() {
         assertNotNull(jForexUtil.calculationUtil());
@@ -229,6 +279,18 @@ public class JForexUtilTest extends QuoteProviderForTest {
             assertThat(instrumentUtil.tickQuote(), equalTo(tickEURUSD));
         }
 
+        @Test
+        public void tickBufferIsDisabledByDefault() {
+            assertFalse(jForexUtil
+                .tickBufferRepository()
+                .isPresent());
+        }
+
+        @Test
+        public void portfolioViewIsCreatedOnceOnDemand() {
+            assertSame(jForexUtil.portfolioView(), jForexUtil.portfolioView());
+        }
+
         @Test
         public void onStopUnsubscribesFromTicks() {
             jForexUtil.onStop();
@@ -0,0 +1,88 @@
+package com.jforex.programming.misc.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.jforex.programming.misc.RetryBackoff;
+import com.jforex.programming.misc.RetryBudget;
+import com.jforex.programming.misc.RetryPolicy;
+import com.jforex.programming.test.common.CommonUtilForTest;
+import com.jforex.programming.test.common.RxTestUtil;
+
+public class RetryPolicyTest extends CommonUtilForTest {
+
+    private final long baseDelay = 100L;
+    private final long maxDelay = 1000L;
+
+    private RetryPolicy policyFor(final RetryBackoff backoff) {
+        return RetryPolicy.of(backoff,
+                              10,
+                              baseDelay,
+                              maxDelay,
+                              TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void constantDelayDoesNotGrow() {
+        final RetryPolicy retryPolicy = RetryPolicy.constant(3, baseDelay, TimeUnit.MILLISECONDS);
+
+        assertThat(retryPolicy.delay(1, baseDelay), equalTo(baseDelay));
+        assertThat(retryPolicy.delay(3, baseDelay), equalTo(baseDelay));
+    }
+
+    @Test
+    public void exponentialDelayDoublesUpToMaxDelay() {
+        final RetryPolicy retryPolicy = policyFor(RetryBackoff.EXPONENTIAL);
+
+        assertThat(retryPolicy.delay(1, 0L), equalTo(100L));
+        assertThat(retryPolicy.delay(2, 0L), equalTo(200L));
+        assertThat(retryPolicy.delay(4, 0L), equalTo(800L));
+        assertThat(retryPolicy.delay(5, 0L), equalTo(maxDelay));
+        assertThat(retryPolicy.delay(70, 0L), equalTo(maxDelay));
+    }
+
+    @Test
+    public void exponentialDelayWithZeroBaseDelayIsZero() {
+        final RetryPolicy retryPolicy = RetryPolicy.of(RetryBackoff.EXPONENTIAL,
+                                                       3,
+                                                       0L,
+                                                       maxDelay,
+                                                       TimeUnit.MILLISECONDS);
+
+        assertThat(retryPolicy.delay(1, 0L), equalTo(0L));
+        assertThat(retryPolicy.delay(3, 0L), equalTo(0L));
+    }
+
+    @Test
+    public void decorrelatedJitterStaysWithinBounds() {
+        final RetryPolicy retryPolicy = policyFor(RetryBackoff.DECORRELATED_JITTER);
+
+        long previousDelay = baseDelay;
+        for (int retry = 1; retry <= 100; ++retry) {
+            final long delay = retryPolicy.delay(retry, previousDelay);
+            assertTrue(delay >= baseDelay);
+            assertTrue(delay <= Math.min(maxDelay, previousDelay * 3L));
+            previousDelay = delay;
+        }
+    }
+
+    @Test
+    public void budgetIsExhaustedAndRefilledOverWindow() {
+        final RetryBudget retryBudget = new RetryBudget("test", 2, 1000L);
+
+        assertTrue(retryBudget.tryAcquire());
+        assertTrue(retryBudget.tryAcquire());
+        assertThat(retryBudget.tryAcquire(), equalTo(false));
+        assertThat(retryBudget.retriesIssued(), equalTo(2L));
+        assertThat(retryBudget.exhaustedCount(), equalTo(1L));
+
+        RxTestUtil.advanceTimeInMillisBy(500L);
+
+        assertTrue(retryBudget.tryAcquire());
+    }
+}
@@ -1,13 +1,23 @@
 package com.jforex.programming.misc.test;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
+import com.jforex.programming.misc.RetryBackoff;
+import com.jforex.programming.misc.RetryBudget;
+import com.jforex.programming.misc.RetryPolicy;
 import com.jforex.programming.misc.RxUtil;
 import com.jforex.programming.test.common.CommonUtilForTest;
 import com.jforex.programming.test.common.RxTestUtil;
 
+import io.reactivex.Observable;
 import io.reactivex.observers.TestObserver;
 
 public class RxUtilTest extends CommonUtilForTest {
@@ -29,6 +39,59 @@ public class RxUtilTest extends CommonUtilForTest {
             .assertValues(1, 2, 3, 4);
     }
 
+    @Test
+    public void retriesStopWhenBudgetIsExhausted() {
+        final RetryPolicy retryPolicy = RetryPolicy
+            .constant(5, 100L, timeUnit)
+            .withBudget(new RetryBudget("test", 1, 60000L));
+
+        final TestObserver<Long> subscriber = Observable
+            .<Throwable> just(jfException, jfException)
+            .compose(RxUtil.retryComposer(retryPolicy))
+            .test();
+
+        subscriber.assertError(jfException);
+        assertThat(retryPolicy.retryBudget().exhaustedCount(), equalTo(1L));
+    }
+
+    @Test
+    public void exponentialRetriesWaitLonger() {
+        final RetryPolicy retryPolicy = RetryPolicy.of(RetryBackoff.EXPONENTIAL,
+                                                       2,
+                                                       100L,
+                                                       1000L,
+                                                       timeUnit);
+
+        final TestObserver<Long> subscriber = Observable
+            .<Throwable> just(jfException, jfException)
+            .compose(RxUtil.retryComposer(retryPolicy))
+            .test();
+
+        RxTestUtil.advanceTimeInMillisBy(100L);
+        subscriber.assertValueCount(1);
+        RxTestUtil.advanceTimeInMillisBy(50L);
+        subscriber.assertValueCount(1);
+        RxTestUtil.advanceTimeInMillisBy(50L);
+        subscriber.assertValueCount(2);
+    }
+
+    @Test
+    public void retryActionReceivesComputedDelay() {
+        final RetryPolicy retryPolicy = RetryPolicy.of(RetryBackoff.EXPONENTIAL,
+                                                       2,
+                                                       100L,
+                                                       1000L,
+                                                       timeUnit);
+        final List<Long> delays = new ArrayList<>();
+
+        Observable
+            .<Throwable> just(jfException, jfException)
+            .compose(RxUtil.retryComposer(retryPolicy, (error, delay) -> delays.add(delay)))
+            .test();
+
+        assertThat(delays, equalTo(Arrays.asList(100L, 200L)));
+    }
+
     @Test
     public void waitObservableIsCorrect() {
         final TestObserver<Long> subscriber = TestObserver.create();
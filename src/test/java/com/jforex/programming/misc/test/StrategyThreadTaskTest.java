@@ -14,7 +14,6 @@ import com.jforex.programming.misc.StrategyThreadTask;
 import com.jforex.programming.test.common.CommonUtilForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
-import io.reactivex.Observable;
 import io.reactivex.functions.Action;
 import io.reactivex.observers.TestObserver;
 
@@ -29,8 +28,6 @@ public class StrategyThreadTaskTest extends CommonUtilForTest {
     private Callable<IOrder> callableMock;
     @Mock
     private Future<IOrder> futureMock;
-    @Mock
-    private Future<Object> futureVoidMock;
     private TestObserver<Void> orderActionSubscriber;
     private TestObserver<IOrder> orderCallableSubscriber;
     private final Runnable executeActionCall = () -> orderActionSubscriber = strategyThreadTask
@@ -51,9 +48,11 @@ public class StrategyThreadTaskTest extends CommonUtilForTest {
         when(callableMock.call()).thenReturn(buyOrderEURUSD);
 
         when(futureMock.get()).thenReturn(buyOrderEURUSD);
-        when(futureVoidMock.get()).thenReturn(1L);
 
-        when(contextMock.executeTask(callableMock)).thenReturn(futureMock);
+        when(contextMock.executeTask(any())).thenAnswer(invocation -> {
+            ((Callable<?>) invocation.getArgument(0)).call();
+            return futureMock;
+        });
     }
 
     private void verifyNoExecutions() {
@@ -79,19 +78,12 @@ public class StrategyThreadTaskTest extends CommonUtilForTest {
 
     @Test
     public void executeOnContextForActionIsCorrect() throws Exception {
-        when(contextMock.executeTask(any())).thenReturn(futureVoidMock);
-
         strategyThreadTask
             .execute(actionMock)
             .subscribe();
 
-        verify(contextMock).executeTask(argThat(callable -> {
-            Observable
-                .fromCallable(callable)
-                .test();
-            return true;
-        }));
-        verify(actionMock, times(2)).run();
+        verify(contextMock).executeTask(any());
+        verify(actionMock).run();
     }
 
     @Test
@@ -100,7 +92,17 @@ public class StrategyThreadTaskTest extends CommonUtilForTest {
             .execute(callableMock)
             .subscribe();
 
-        verify(contextMock).executeTask(callableMock);
+        verify(contextMock).executeTask(any());
+        verify(callableMock).call();
+    }
+
+    @Test
+    public void noThreadWaitsOnTaskFuture() throws Exception {
+        strategyThreadTask
+            .execute(callableMock)
+            .subscribe();
+
+        verify(futureMock, never()).get();
     }
 
     public class WhenStrategyThread {
@@ -170,7 +172,7 @@ public class StrategyThreadTaskTest extends CommonUtilForTest {
 
                 @Test
                 public void onErrorExceptionIsEmitted() throws Exception {
-                    when(contextMock.executeTask(any())).thenThrow(new RuntimeException());
+                    doThrow(new RuntimeException()).when(contextMock).executeTask(any());
 
                     executeActionCall.run();
 
@@ -181,16 +183,13 @@ public class StrategyThreadTaskTest extends CommonUtilForTest {
 
                     @Before
                     public void setUp() {
-                        when(contextMock.executeTask(any())).thenReturn(futureVoidMock);
-
                         executeActionCall.run();
                     }
 
                     @Test
-                    public void executionWithContextHappens() throws InterruptedException,
-                                                              ExecutionException {
+                    public void executionWithContextHappens() throws Exception {
                         verify(contextMock).executeTask(any());
-                        verify(futureVoidMock).get();
+                        verify(actionMock).run();
                     }
 
                     @Test
@@ -207,7 +206,7 @@ public class StrategyThreadTaskTest extends CommonUtilForTest {
 
                 @Test
                 public void onErrorExceptionIsEmitted() throws Exception {
-                    when(contextMock.executeTask(callableMock)).thenThrow(new RuntimeException());
+                    doThrow(new RuntimeException()).when(contextMock).executeTask(any());
 
                     executeCallableCall.run();
 
@@ -222,10 +221,19 @@ public class StrategyThreadTaskTest extends CommonUtilForTest {
                     }
 
                     @Test
-                    public void executionWithContextHappens() throws InterruptedException,
-                                                              ExecutionException {
-                        verify(contextMock).executeTask(callableMock);
-                        verify(futureMock).get();
+                    public void executionWithContextHappens() throws Exception {
+                        verify(contextMock).executeTask(any());
+                        verify(callableMock).call();
+                    }
+
+                    @Test
+                    public void callableErrorIsEmitted() throws Exception {
+                        when(callableMock.call()).thenThrow(jfException);
+
+                        strategyThreadTask
+                            .execute(callableMock)
+                            .test()
+                            .assertError(jfException);
                     }
 
                     @Test
@@ -0,0 +1,178 @@
+package com.jforex.programming.misc.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Lists;
+import com.jforex.programming.misc.SubscriberLane;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class SubscriberLaneTest extends CommonUtilForTest {
+
+    private SubscriberLane<Integer> subscriberLane;
+
+    private final Subject<Integer> hotObservable = PublishSubject.create();
+    private final List<Integer> consumedItems = new ArrayList<>();
+    private final List<Runnable> scheduledDrains = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        subscriberLane = new SubscriberLane<>(hotObservable,
+                                              consumedItems::add,
+                                              scheduledDrains::add,
+                                              4);
+    }
+
+    private void runScheduledDrains() {
+        final List<Runnable> drains = new ArrayList<>(scheduledDrains);
+        scheduledDrains.clear();
+        drains.forEach(Runnable::run);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ringSizeMustBePowerOfTwo() {
+        new SubscriberLane<>(hotObservable,
+                             consumedItems::add,
+                             scheduledDrains::add,
+                             3);
+    }
+
+    @Test
+    public void capacityIsRingSize() {
+        assertThat(subscriberLane.capacity(), equalTo(4));
+    }
+
+    @Test
+    public void directExecutorConsumesImmediately() {
+        final List<Integer> directItems = new ArrayList<>();
+        final SubscriberLane<Integer> directLane = new SubscriberLane<>(hotObservable,
+                                                                        directItems::add,
+                                                                        Runnable::run,
+                                                                        2);
+
+        hotObservable.onNext(1);
+        hotObservable.onNext(2);
+        hotObservable.onNext(3);
+
+        assertThat(directItems, equalTo(Lists.newArrayList(1, 2, 3)));
+        assertThat(directLane.queueDepth(), equalTo(0L));
+        assertThat(directLane.handedOffCount(), equalTo(3L));
+    }
+
+    public class ItemsPublishedBeforeDrain {
+
+        @Before
+        public void setUp() {
+            hotObservable.onNext(1);
+            hotObservable.onNext(2);
+            hotObservable.onNext(3);
+        }
+
+        @Test
+        public void itemsAreNotConsumedOnPublishingThread() {
+            assertTrue(consumedItems.isEmpty());
+            assertThat(subscriberLane.queueDepth(), equalTo(3L));
+        }
+
+        @Test
+        public void onlyOneDrainIsScheduled() {
+            assertThat(scheduledDrains.size(), equalTo(1));
+        }
+
+        public class AfterDrain {
+
+            @Before
+            public void setUp() {
+                runScheduledDrains();
+            }
+
+            @Test
+            public void itemsAreConsumedInOrder() {
+                assertThat(consumedItems, equalTo(Lists.newArrayList(1, 2, 3)));
+            }
+
+            @Test
+            public void metricsAreUpdated() {
+                assertThat(subscriberLane.queueDepth(), equalTo(0L));
+                assertThat(subscriberLane.handedOffCount(), equalTo(3L));
+                assertThat(subscriberLane.droppedCount(), equalTo(0L));
+                assertTrue(subscriberLane.maxHandoffNanos() >= subscriberLane.averageHandoffNanos());
+            }
+
+            @Test
+            public void ringSlotsAreReused() {
+                hotObservable.onNext(4);
+                hotObservable.onNext(5);
+                hotObservable.onNext(6);
+                runScheduledDrains();
+
+                assertThat(consumedItems, equalTo(Lists.newArrayList(1, 2, 3, 4, 5, 6)));
+            }
+        }
+    }
+
+    public class WhenRingIsFull {
+
+        @Before
+        public void setUp() {
+            for (int item = 1; item <= 6; ++item)
+                hotObservable.onNext(item);
+        }
+
+        @Test
+        public void overflowingItemsAreDroppedWithoutBlocking() {
+            assertThat(subscriberLane.queueDepth(), equalTo(4L));
+            assertThat(subscriberLane.droppedCount(), equalTo(2L));
+        }
+
+        @Test
+        public void bufferedItemsAreConsumedAfterDrain() {
+            runScheduledDrains();
+            hotObservable.onNext(7);
+            runScheduledDrains();
+
+            assertThat(consumedItems, equalTo(Lists.newArrayList(1, 2, 3, 4, 7)));
+        }
+    }
+
+    @Test
+    public void failingConsumerDoesNotStopLane() {
+        final List<Integer> directItems = new ArrayList<>();
+        new SubscriberLane<Integer>(hotObservable,
+                                    item -> {
+                                        if (item == 1)
+                                            throw jfException;
+                                        directItems.add(item);
+                                    },
+                                    Runnable::run,
+                                    2);
+
+        hotObservable.onNext(1);
+        hotObservable.onNext(2);
+
+        assertThat(directItems, equalTo(Lists.newArrayList(2)));
+    }
+
+    @Test
+    public void disposedLaneReceivesNoItems() {
+        subscriberLane.dispose();
+
+        hotObservable.onNext(1);
+
+        assertTrue(subscriberLane.isDisposed());
+        assertThat(subscriberLane.queueDepth(), equalTo(0L));
+    }
+}
@@ -0,0 +1,47 @@
+package com.jforex.programming.misc.test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.jforex.programming.misc.WorkflowExecutor;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+public class WorkflowExecutorTest extends CommonUtilForTest {
+
+    private final WorkflowExecutor workflowExecutor = new WorkflowExecutor(false);
+
+    @After
+    public void tearDown() {
+        workflowExecutor.shutdown();
+    }
+
+    @Test
+    public void platformThreadsAreUsedWhenVirtualThreadsAreNotPreferred() {
+        assertFalse(workflowExecutor.usesVirtualThreads());
+    }
+
+    @Test
+    public void workflowRunsOnWorkflowThread() throws Exception {
+        final String threadName = workflowExecutor
+            .call(() -> Thread.currentThread().getName())
+            .blockingGet();
+
+        assertTrue(threadName.startsWith("JFWorkflow-"));
+    }
+
+    @Test
+    public void workflowErrorIsEmitted() throws Exception {
+        workflowExecutor
+            .run(() -> {
+                throw jfException;
+            })
+            .test()
+            .awaitDone(1, TimeUnit.SECONDS)
+            .assertError(jfException);
+    }
+}
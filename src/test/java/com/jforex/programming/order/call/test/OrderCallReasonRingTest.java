@@ -0,0 +1,103 @@
+package com.jforex.programming.order.call.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallReasonRing;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+
+@RunWith(HierarchicalContextRunner.class)
+public class OrderCallReasonRingTest extends CommonUtilForTest {
+
+    private final OrderCallReasonRing callReasonRing = new OrderCallReasonRing();
+
+    @Test
+    public void newRingIsEmpty() {
+        assertTrue(callReasonRing.isEmpty());
+        assertThat(callReasonRing.poll(), nullValue());
+    }
+
+    @Test
+    public void reasonsArePolledInPushOrder() {
+        callReasonRing.push(OrderCallReason.SUBMIT);
+        callReasonRing.push(OrderCallReason.CHANGE_PRICE);
+        callReasonRing.push(OrderCallReason.CLOSE);
+
+        assertThat(callReasonRing.size(), equalTo(3));
+        assertThat(callReasonRing.poll(), equalTo(OrderCallReason.SUBMIT));
+        assertThat(callReasonRing.poll(), equalTo(OrderCallReason.CHANGE_PRICE));
+        assertThat(callReasonRing.poll(), equalTo(OrderCallReason.CLOSE));
+        assertTrue(callReasonRing.isEmpty());
+    }
+
+    @Test
+    public void snapshotDoesNotConsumeReasons() {
+        callReasonRing.push(OrderCallReason.SUBMIT);
+        callReasonRing.push(OrderCallReason.CLOSE);
+
+        assertThat(callReasonRing.snapshot(),
+                   equalTo(Arrays.asList(OrderCallReason.SUBMIT, OrderCallReason.CLOSE)));
+        assertThat(callReasonRing.size(), equalTo(2));
+    }
+
+    public class WhenFull {
+
+        @Before
+        public void setUp() {
+            callReasonRing.push(OrderCallReason.SUBMIT);
+            for (int i = 1; i < OrderCallReasonRing.capacity; ++i)
+                callReasonRing.push(OrderCallReason.CHANGE_SL);
+            callReasonRing.push(OrderCallReason.CHANGE_PRICE);
+            callReasonRing.push(OrderCallReason.CLOSE);
+        }
+
+        @Test
+        public void noReasonIsDropped() {
+            assertThat(callReasonRing.size(), equalTo(OrderCallReasonRing.capacity + 2));
+            assertThat(callReasonRing.spillCount(), equalTo(2L));
+        }
+
+        @Test
+        public void reasonsArePolledInPushOrder() {
+            assertThat(callReasonRing.poll(), equalTo(OrderCallReason.SUBMIT));
+            for (int i = 1; i < OrderCallReasonRing.capacity; ++i)
+                assertThat(callReasonRing.poll(), equalTo(OrderCallReason.CHANGE_SL));
+            assertThat(callReasonRing.poll(), equalTo(OrderCallReason.CHANGE_PRICE));
+            assertThat(callReasonRing.poll(), equalTo(OrderCallReason.CLOSE));
+            assertTrue(callReasonRing.isEmpty());
+        }
+
+        @Test
+        public void reasonPushedAfterPollIsQueuedBehindSpilledReasons() {
+            callReasonRing.poll();
+            callReasonRing.push(OrderCallReason.MERGE);
+
+            final List<OrderCallReason> snapshot = callReasonRing.snapshot();
+            assertThat(snapshot.size(), equalTo(OrderCallReasonRing.capacity + 2));
+            assertThat(snapshot.get(snapshot.size() - 3), equalTo(OrderCallReason.CHANGE_PRICE));
+            assertThat(snapshot.get(snapshot.size() - 2), equalTo(OrderCallReason.CLOSE));
+            assertThat(snapshot.get(snapshot.size() - 1), equalTo(OrderCallReason.MERGE));
+        }
+
+        @Test
+        public void snapshotContainsSpilledReasons() {
+            final List<OrderCallReason> snapshot = callReasonRing.snapshot();
+
+            assertThat(snapshot.size(), equalTo(OrderCallReasonRing.capacity + 2));
+            assertThat(snapshot.get(0), equalTo(OrderCallReason.SUBMIT));
+            assertThat(snapshot.get(snapshot.size() - 1), equalTo(OrderCallReason.CLOSE));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.jforex.programming.order.event.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.dukascopy.api.IMessage;
+import com.google.common.collect.Sets;
+import com.jforex.programming.order.event.OrderEventClassifier;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.event.OrderEventTypeMapper;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+public class OrderEventClassifierTest extends CommonUtilForTest {
+
+    private final OrderEventClassifier orderEventClassifier = new OrderEventClassifier();
+
+    private OrderEventType classify(final IMessage.Type messageType,
+                                    final IMessage.Reason... messageReasons) {
+        return orderEventClassifier.classify(mockForIMessage(buyOrderEURUSD,
+                                                             messageType,
+                                                             Sets.newHashSet(messageReasons)));
+    }
+
+    @Test
+    public void reasonMaskHasOneBitPerReason() {
+        final long reasonMask = OrderEventClassifier.reasonMask(Sets.newHashSet(IMessage.Reason.ORDER_CHANGED_SL,
+                                                                                IMessage.Reason.ORDER_FULLY_FILLED));
+
+        assertThat(reasonMask, equalTo((1L << IMessage.Reason.ORDER_CHANGED_SL.ordinal())
+                | (1L << IMessage.Reason.ORDER_FULLY_FILLED.ordinal())));
+    }
+
+    @Test
+    public void singleReasonIsClassifiedByReason() {
+        assertThat(classify(IMessage.Type.ORDER_CLOSE_OK, IMessage.Reason.ORDER_CLOSED_BY_SL),
+                   equalTo(OrderEventType.CLOSED_BY_SL));
+    }
+
+    @Test
+    public void multipleReasonsAreClassifiedByMessageType() {
+        assertThat(classify(IMessage.Type.ORDER_CHANGED_REJECTED,
+                            IMessage.Reason.ORDER_CHANGED_SL,
+                            IMessage.Reason.ORDER_CHANGED_TP),
+                   equalTo(OrderEventType.CHANGED_REJECTED));
+    }
+
+    @Test
+    public void tablesAgreeWithMapperForAllMappedEntries() {
+        Arrays
+            .stream(IMessage.Reason.values())
+            .filter(reason -> OrderEventTypeMapper.byMessageReason(reason) != null)
+            .forEach(reason -> assertThat(orderEventClassifier.byReasonMask(1L << reason.ordinal()),
+                                          equalTo(OrderEventTypeMapper.byMessageReason(reason))));
+
+        Arrays
+            .asList(IMessage.Type.ORDER_SUBMIT_OK,
+                    IMessage.Type.ORDER_FILL_OK,
+                    IMessage.Type.ORDER_CLOSE_OK,
+                    IMessage.Type.ORDERS_MERGE_OK,
+                    IMessage.Type.NOTIFICATION)
+            .forEach(type -> assertThat(orderEventClassifier.byMessageType(type, buyOrderEURUSD),
+                                        equalTo(OrderEventTypeMapper.byMessageType(type, buyOrderEURUSD))));
+    }
+}
@@ -1,20 +1,33 @@
 package com.jforex.programming.order.event.test;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
 import org.mockito.Mock;
 
 import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
 import com.google.common.collect.Sets;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventFactory;
 import com.jforex.programming.order.event.OrderEventGateway;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.event.OrderEventTypeData;
 import com.jforex.programming.test.common.CommonUtilForTest;
 
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.observers.TestObserver;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 
+@RunWith(HierarchicalContextRunner.class)
 public class OrderEventGatewayTest extends CommonUtilForTest {
 
     private OrderEventGateway orderEventGateway;
@@ -64,4 +77,94 @@ public class OrderEventGatewayTest extends CommonUtilForTest {
             .assertNoErrors()
             .assertValue(changedRejectEvent);
     }
+
+    public class CallObservable {
+
+        private final OrderEventTypeData typeData =
+                new OrderEventTypeData(EnumSet.of(OrderEventType.CLOSE_OK),
+                                       EnumSet.of(OrderEventType.CLOSE_REJECTED),
+                                       EnumSet.of(OrderEventType.PARTIAL_CLOSE_OK));
+        private TestObserver<OrderEvent> callSubscriber;
+
+        @Before
+        public void setUp() {
+            callSubscriber = orderEventGateway
+                .observableForCall(buyOrderEURUSD, typeData)
+                .test();
+        }
+
+        private OrderEvent sendOrderEvent(final IOrder order,
+                                          final OrderEventType type) {
+            final IMessage orderMessage = mockForIMessage(order,
+                                                          IMessage.Type.ORDER_CLOSE_OK,
+                                                          Sets.newHashSet());
+            final OrderEvent orderEvent = new OrderEvent(order, type, true);
+            when(orderEventMapperMock.fromMessage(orderMessage)).thenReturn(orderEvent);
+
+            messageSubject.onNext(orderMessage);
+            return orderEvent;
+        }
+
+        @Test
+        public void callIsPendingForOrder() {
+            assertThat(orderEventGateway.noOfPendingCalls(buyOrderEURUSD), equalTo(1));
+            assertThat(orderEventGateway.noOfPendingCalls(buyOrderAUDUSD), equalTo(0));
+        }
+
+        @Test
+        public void eventForOtherOrderIsNotDelivered() {
+            sendOrderEvent(buyOrderAUDUSD, OrderEventType.CLOSE_OK);
+
+            callSubscriber.assertNoValues();
+            callSubscriber.assertNotComplete();
+        }
+
+        @Test
+        public void notRegisteredEventTypeIsIgnored() {
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CHANGE_GTT_REJECTED);
+
+            callSubscriber.assertNoValues();
+        }
+
+        @Test
+        public void infoEventIsDeliveredWithoutCompletion() {
+            final OrderEvent partialCloseEvent = sendOrderEvent(buyOrderEURUSD,
+                                                                OrderEventType.PARTIAL_CLOSE_OK);
+
+            callSubscriber.assertValue(partialCloseEvent);
+            callSubscriber.assertNotComplete();
+        }
+
+        @Test
+        public void finishEventCompletesAndRemovesCall() {
+            final OrderEvent closeEvent = sendOrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK);
+
+            callSubscriber.assertValue(closeEvent);
+            callSubscriber.assertComplete();
+            assertThat(orderEventGateway.noOfPendingCalls(buyOrderEURUSD), equalTo(0));
+        }
+
+        @Test
+        public void generalSubscribersAreNotifiedBeforePendingCall() {
+            final List<String> notifications = new ArrayList<>();
+            orderEventGateway
+                .observable()
+                .subscribe(orderEvent -> notifications.add("general"));
+            orderEventGateway
+                .observableForCall(buyOrderEURUSD, typeData)
+                .subscribe(orderEvent -> notifications.add("call"));
+
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK);
+
+            assertThat(notifications.get(0), equalTo("general"));
+            assertThat(notifications.get(1), equalTo("call"));
+        }
+
+        @Test
+        public void disposedCallIsRemoved() {
+            callSubscriber.dispose();
+
+            assertThat(orderEventGateway.noOfPendingCalls(buyOrderEURUSD), equalTo(0));
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.jforex.programming.order.task.test;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -10,11 +11,14 @@ import org.mockito.Mock;
 import com.dukascopy.api.IEngine.OrderCommand;
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.OfferSide;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.jforex.programming.order.OrderParams;
 import com.jforex.programming.order.OrderUtilHandler;
 import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.event.SubmitOrderEvent;
 import com.jforex.programming.order.task.BasicTask;
 import com.jforex.programming.order.task.TaskExecutor;
 import com.jforex.programming.position.Position;
@@ -144,6 +148,59 @@ public class BasicTaskTest extends InstrumentUtilForTest {
         }
     }
 
+    public class SubmitOrdersSetup {
+
+        private Observable<SubmitOrderEvent> submitOrdersObservable;
+        private final OrderEvent submitEvent = new OrderEvent(orderForTest,
+                                                              OrderEventType.SUBMIT_OK,
+                                                              true);
+        private final List<OrderParams> orderParamsList = Lists.newArrayList(buyParamsEURUSD, sellParamsEURUSD);
+        private final List<Single<IOrder>> submittedOrders = Lists.newArrayList();
+
+        @Before
+        public void setUp() {
+            submittedOrders.add(Single.just(orderForTest));
+            submittedOrders.add(Single.error(jfException));
+            when(orderTaskExecutorMock.submitOrders(orderParamsList))
+                .thenReturn(Single.just(submittedOrders));
+
+            submitOrdersObservable = basicTask.submitOrders(orderParamsList);
+        }
+
+        @Test
+        public void callIsDeferred() {
+            verifyZeroInteractions(orderTaskExecutorMock);
+            verifyZeroInteractions(orderUtilHandlerMock);
+        }
+
+        public class OnSubscribe {
+
+            private TestObserver<SubmitOrderEvent> submitOrdersObserver;
+
+            @Before
+            public void setUp() {
+                setUpOrderUtilHandlerMock(Observable.just(submitEvent), OrderCallReason.SUBMIT);
+
+                submitOrdersObserver = submitOrdersObservable.test();
+            }
+
+            @Test
+            public void allOrdersAreSubmittedInOneTask() {
+                verify(orderTaskExecutorMock).submitOrders(orderParamsList);
+            }
+
+            @Test
+            public void eventsAreTaggedWithOrderParams() {
+                submitOrdersObserver.assertValue(new SubmitOrderEvent(buyParamsEURUSD, submitEvent));
+            }
+
+            @Test
+            public void failedSubmitIsDelayedUntilOtherEventsAreDone() {
+                submitOrdersObserver.assertError(jfException);
+            }
+        }
+    }
+
     public class MergeOrdersSetup {
 
         private Observable<OrderEvent> observable;
@@ -1,6 +1,11 @@
 package com.jforex.programming.order.task.test;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -34,10 +39,11 @@ public class BatchChangeTaskTest extends InstrumentUtilForTest {
             upstream -> upstream.flatMap(orderEvent -> Observable.just(composerEvent));
     private final OrderToEventTransformer testOrderComposer =
             order -> testComposer;
+    private final int maxConcurrentBatchCalls = 3;
 
     @Before
     public void setUp() {
-        batchChangeTask = new BatchChangeTask(orderBasicTaskMock);
+        batchChangeTask = new BatchChangeTask(orderBasicTaskMock, maxConcurrentBatchCalls);
     }
 
     public class CloseBatch {
@@ -73,6 +79,42 @@ public class BatchChangeTaskTest extends InstrumentUtilForTest {
         }
     }
 
+    public class MergeConcurrencyLimit {
+
+        private final List<IOrder> manyOrders = new ArrayList<>();
+        private final AtomicInteger subscribedCalls = new AtomicInteger();
+
+        @Before
+        public void setUp() {
+            for (int i = 0; i <= maxConcurrentBatchCalls; ++i)
+                manyOrders.add(mock(IOrder.class));
+            when(orderBasicTaskMock.close(any()))
+                .thenReturn(Observable
+                    .<OrderEvent> never()
+                    .doOnSubscribe(d -> subscribedCalls.incrementAndGet()));
+        }
+
+        @Test
+        public void notMoreCallsThanLimitAreInFlight() {
+            batchChangeTask
+                .close(manyOrders,
+                       BatchMode.MERGE,
+                       testOrderComposer)
+                .test();
+
+            assertThat(subscribedCalls.get(), equalTo(maxConcurrentBatchCalls));
+        }
+
+        @Test
+        public void nothingIsCalledBeforeSubscription() {
+            batchChangeTask.close(manyOrders,
+                                  BatchMode.MERGE,
+                                  testOrderComposer);
+
+            verifyZeroInteractions(orderBasicTaskMock);
+        }
+    }
+
     public class CancelSLBatch {
 
         @Before
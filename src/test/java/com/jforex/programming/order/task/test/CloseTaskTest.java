@@ -37,10 +37,13 @@ public class CloseTaskTest extends InstrumentUtilForTest {
     private Function<Instrument, ClosePositionCommand> commandFactoryMock;
     private final OrderEvent event = closeEvent;
     private TestObserver<OrderEvent> testObserver;
+    private final int maxConcurrentBatchCalls = 3;
 
     @Before
     public void setUp() throws Exception {
-        closeTask = new CloseTask(commandHandlerMock, positionUtilMock);
+        closeTask = new CloseTask(commandHandlerMock,
+                                  positionUtilMock,
+                                  maxConcurrentBatchCalls);
     }
 
     private void setUpCommandObservables(final Observable<OrderEvent> mergeObservable,
@@ -121,7 +124,7 @@ public class CloseTaskTest extends InstrumentUtilForTest {
             closeObservables = Stream
                 .of(firstObservable, secondObservable)
                 .collect(Collectors.toList());
-            when(positionUtilMock.observablesFromFactory(any())).thenReturn(closeObservables);
+            when(positionUtilMock.deferredObservablesFromFactory(any())).thenReturn(Observable.fromIterable(closeObservables));
 
             closeAllSubscribe();
         }
@@ -132,7 +135,7 @@ public class CloseTaskTest extends InstrumentUtilForTest {
             doAnswer(invocation -> ((Function<Instrument, Observable<OrderEvent>>) invocation.getArgument(0))
                 .apply(instrumentEURUSD)
                 .subscribe())
-                    .when(positionUtilMock).observablesFromFactory(any());
+                    .when(positionUtilMock).deferredObservablesFromFactory(any());
 
             setUpCommandObservables(emptyObservable(), emptyObservable());
             closeAllSubscribe();
@@ -0,0 +1,177 @@
+package com.jforex.programming.order.task.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.task.EngineCallLimiter;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class EngineCallLimiterTest extends CommonUtilForTest {
+
+    private EngineCallLimiter engineCallLimiter;
+
+    private final TestScheduler testScheduler = new TestScheduler();
+    private final Subject<OrderEvent> orderEventSubject = PublishSubject.create();
+    private final OrderEvent rejectEvent = new OrderEvent(buyOrderEURUSD,
+                                                          OrderEventType.SUBMIT_REJECTED,
+                                                          true);
+    private final OrderEvent doneEvent = new OrderEvent(buyOrderEURUSD,
+                                                        OrderEventType.FULLY_FILLED,
+                                                        true);
+    private final double minCallsPerSecond = 2.0;
+    private final double maxCallsPerSecond = 10.0;
+    private final int burstSize = 2;
+
+    @Before
+    public void setUp() {
+        engineCallLimiter = new EngineCallLimiter(orderEventSubject,
+                                                  minCallsPerSecond,
+                                                  maxCallsPerSecond,
+                                                  burstSize,
+                                                  testScheduler);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroMinimumRateIsNotAllowed() {
+        new EngineCallLimiter(orderEventSubject,
+                              0.0,
+                              maxCallsPerSecond,
+                              burstSize,
+                              testScheduler);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maximumRateBelowMinimumIsNotAllowed() {
+        new EngineCallLimiter(orderEventSubject,
+                              minCallsPerSecond,
+                              1.0,
+                              burstSize,
+                              testScheduler);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroBurstSizeIsNotAllowed() {
+        new EngineCallLimiter(orderEventSubject,
+                              minCallsPerSecond,
+                              maxCallsPerSecond,
+                              0,
+                              testScheduler);
+    }
+
+    @Test
+    public void rateStartsAtMaximum() {
+        assertThat(engineCallLimiter.currentCallsPerSecond(), equalTo(maxCallsPerSecond));
+    }
+
+    @Test
+    public void callsWithinBurstAreNotDelayed() {
+        engineCallLimiter
+            .acquire()
+            .test()
+            .assertComplete();
+        engineCallLimiter
+            .acquire()
+            .test()
+            .assertComplete();
+
+        assertThat(engineCallLimiter.queueDepth(), equalTo(0));
+    }
+
+    public class WhenBurstIsUsedUp {
+
+        private TestObserver<Void> waitingCall;
+
+        @Before
+        public void setUp() {
+            engineCallLimiter.acquire().test();
+            engineCallLimiter.acquire().test();
+
+            waitingCall = engineCallLimiter
+                .acquire()
+                .test();
+        }
+
+        @Test
+        public void callIsQueued() {
+            waitingCall.assertNotComplete();
+            assertThat(engineCallLimiter.queueDepth(), equalTo(1));
+        }
+
+        @Test
+        public void callIsReleasedAfterOneTokenRefills() {
+            testScheduler.advanceTimeBy(100L, TimeUnit.MILLISECONDS);
+
+            waitingCall.assertComplete();
+            assertThat(engineCallLimiter.queueDepth(), equalTo(0));
+        }
+
+        @Test
+        public void rejectSlowsDownRelease() {
+            orderEventSubject.onNext(rejectEvent);
+            testScheduler.advanceTimeBy(100L, TimeUnit.MILLISECONDS);
+
+            waitingCall.assertNotComplete();
+
+            testScheduler.advanceTimeBy(200L, TimeUnit.MILLISECONDS);
+
+            waitingCall.assertComplete();
+        }
+    }
+
+    public class RateAdaption {
+
+        @Test
+        public void rejectHalvesRate() {
+            orderEventSubject.onNext(rejectEvent);
+
+            assertThat(engineCallLimiter.currentCallsPerSecond(), equalTo(maxCallsPerSecond / 2));
+            assertThat(engineCallLimiter.rejectCount(), equalTo(1L));
+        }
+
+        @Test
+        public void rateDoesNotDropBelowMinimum() {
+            orderEventSubject.onNext(rejectEvent);
+            orderEventSubject.onNext(rejectEvent);
+            orderEventSubject.onNext(rejectEvent);
+
+            assertThat(engineCallLimiter.currentCallsPerSecond(), equalTo(minCallsPerSecond));
+        }
+
+        @Test
+        public void successIncreasesRateUpToMaximum() {
+            orderEventSubject.onNext(rejectEvent);
+            orderEventSubject.onNext(doneEvent);
+
+            assertThat(engineCallLimiter.currentCallsPerSecond(), equalTo(maxCallsPerSecond / 2 + 1.0));
+
+            for (int i = 0; i < 10; ++i)
+                orderEventSubject.onNext(doneEvent);
+
+            assertThat(engineCallLimiter.currentCallsPerSecond(), equalTo(maxCallsPerSecond));
+        }
+
+        @Test
+        public void externalEventsAreIgnored() {
+            orderEventSubject.onNext(new OrderEvent(buyOrderEURUSD,
+                                                    OrderEventType.SUBMIT_REJECTED,
+                                                    false));
+
+            assertThat(engineCallLimiter.currentCallsPerSecond(), equalTo(maxCallsPerSecond));
+        }
+    }
+}
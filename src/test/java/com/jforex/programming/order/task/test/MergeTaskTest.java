@@ -42,12 +42,15 @@ public class MergeTaskTest extends InstrumentUtilForTest {
     private final OrderEvent testEvent = mergeEvent;
     private Observable<OrderEvent> testObservable;
     private TestObserver<OrderEvent> testObserver;
+    private final int maxConcurrentBatchCalls = 3;
 
     @Before
     public void setUp() {
         setUpMocks();
 
-        mergeTask = new MergeTask(splitterMock, positionUtilMock);
+        mergeTask = new MergeTask(splitterMock,
+                                  positionUtilMock,
+                                  maxConcurrentBatchCalls);
     }
 
     private void setUpMocks() {
@@ -131,7 +134,7 @@ public class MergeTaskTest extends InstrumentUtilForTest {
             closeObservables = Stream
                 .of(firstObservable, secondObservable)
                 .collect(Collectors.toList());
-            when(positionUtilMock.observablesFromFactory(any())).thenReturn(closeObservables);
+            when(positionUtilMock.deferredObservablesFromFactory(any())).thenReturn(Observable.fromIterable(closeObservables));
 
             mergeAllSubscribe();
         }
@@ -148,7 +151,7 @@ public class MergeTaskTest extends InstrumentUtilForTest {
             doAnswer(invocation -> ((Function<Instrument, Observable<OrderEvent>>) invocation.getArgument(0))
                 .apply(instrumentEURUSD)
                 .subscribe())
-                    .when(positionUtilMock).observablesFromFactory(any());
+                    .when(positionUtilMock).deferredObservablesFromFactory(any());
 
             setUpSplitterObservable(emptyObservable());
             mergeAllSubscribe();
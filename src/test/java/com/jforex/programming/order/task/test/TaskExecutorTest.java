@@ -3,8 +3,11 @@ package com.jforex.programming.order.task.test;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -18,10 +21,13 @@ import com.dukascopy.api.JFException;
 import com.dukascopy.api.OfferSide;
 import com.google.common.collect.Sets;
 import com.jforex.programming.misc.StrategyThreadTask;
+import com.jforex.programming.order.OrderParams;
+import com.jforex.programming.order.task.EngineCallLimiter;
 import com.jforex.programming.order.task.TaskExecutor;
 import com.jforex.programming.test.common.CommonUtilForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.reactivex.functions.Action;
 
@@ -37,6 +43,8 @@ public class TaskExecutorTest extends CommonUtilForTest {
     @Captor
     private ArgumentCaptor<Callable<IOrder>> callableCaptor;
     @Captor
+    private ArgumentCaptor<Callable<List<Single<IOrder>>>> submitCallableCaptor;
+    @Captor
     private ArgumentCaptor<Action> actionCaptor;
     private final IOrder orderForTest = buyOrderEURUSD;
     private final Single<IOrder> testOrderSingle = Single.just(orderForTest);
@@ -114,6 +122,96 @@ public class TaskExecutorTest extends CommonUtilForTest {
         }
     }
 
+    public class SubmitOrdersSetup {
+
+        private void stubEngineSubmit(final OrderParams orderParams) throws JFException {
+            when(engineMock.submitOrder(orderParams.label(),
+                                        orderParams.instrument(),
+                                        orderParams.orderCommand(),
+                                        orderParams.amount(),
+                                        orderParams.price(),
+                                        orderParams.slippage(),
+                                        orderParams.stopLossPrice(),
+                                        orderParams.takeProfitPrice(),
+                                        orderParams.goodTillTime(),
+                                        orderParams.comment()))
+                                            .thenReturn(buyOrderEURUSD)
+                                            .thenThrow(jfException);
+        }
+
+        @Test
+        public void allOrdersAreSubmittedInOneStrategyThreadTask() throws Exception {
+            stubEngineSubmit(buyParamsEURUSD);
+
+            taskExecutor.submitOrders(Arrays.asList(buyParamsEURUSD, buyParamsEURUSD));
+            verify(strategyThreadTask).execute(submitCallableCaptor.capture());
+
+            final List<Single<IOrder>> submitResults = submitCallableCaptor
+                .getValue()
+                .call();
+
+            assertThat(submitResults.size(), equalTo(2));
+            submitResults
+                .get(0)
+                .test()
+                .assertValue(buyOrderEURUSD);
+            submitResults
+                .get(1)
+                .test()
+                .assertError(jfException);
+        }
+    }
+
+    public class WithCallLimiter {
+
+        @Before
+        public void setUp() {
+            final EngineCallLimiter callLimiterMock = mock(EngineCallLimiter.class);
+            when(callLimiterMock.acquire()).thenReturn(Completable.never());
+            when(strategyThreadTask.execute(any(Action.class))).thenReturn(Completable.complete());
+
+            taskExecutor = new TaskExecutor(strategyThreadTask,
+                                            engineMock,
+                                            callLimiterMock);
+        }
+
+        @Test
+        public void submitWaitsForLimiterPermit() {
+            taskExecutor
+                .submitOrder(buyParamsEURUSD)
+                .test()
+                .assertNoValues()
+                .assertNotComplete();
+        }
+
+        @Test
+        public void submitOrdersAcquiresOnePermitPerOrder() {
+            final EngineCallLimiter callLimiterMock = mock(EngineCallLimiter.class);
+            final AtomicInteger acquiredPermits = new AtomicInteger();
+            when(callLimiterMock.acquire())
+                .thenReturn(Completable
+                    .complete()
+                    .doOnSubscribe(d -> acquiredPermits.incrementAndGet()));
+            taskExecutor = new TaskExecutor(strategyThreadTask,
+                                            engineMock,
+                                            callLimiterMock);
+
+            taskExecutor
+                .submitOrders(Arrays.asList(buyParamsEURUSD, buyParamsEURUSD, buyParamsEURUSD))
+                .test();
+
+            assertThat(acquiredPermits.get(), equalTo(3));
+        }
+
+        @Test
+        public void closeWaitsForLimiterPermit() {
+            taskExecutor
+                .close(orderForTest)
+                .test()
+                .assertNotComplete();
+        }
+    }
+
     public class MergeOrdersSetup {
 
         private final String mergeOrderLabel = "mergeOrderLabel";
@@ -70,7 +70,8 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
     }
 
     public void setUpMocks() {
-        when(orderEventGatewayMock.observable()).thenReturn(orderEventSubject);
+        when(orderEventGatewayMock.observableForCall(orderForTest, orderEventTypeData))
+            .thenReturn(orderEventSubject);
 
         when(orderEventTypeData.doneEventTypes()).thenReturn(doneEventTypes);
         when(orderEventTypeData.rejectEventTypes()).thenReturn(rejectEventTypes);
@@ -130,7 +131,7 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
             public void orderIsRegisteredBeforeSubscriptionToEventGateway() {
                 requestObserver.assertValueCount(1);
 
-                verify(orderEventGatewayMock).observable();
+                verify(orderEventGatewayMock).observableForCall(orderForTest, orderEventTypeData);
             }
 
             @Test
@@ -138,20 +139,6 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
                 assertNoEventsReceived();
             }
 
-            @Test
-            public void externalOrderInEventIsIgnored() {
-                sendOrderEvent(buyOrderAUDUSD, OrderEventType.SUBMIT_OK);
-
-                assertNoEventsReceived();
-            }
-
-            @Test
-            public void notRegisteredEventTypeIsIgnored() {
-                sendOrderEvent(orderForTest, OrderEventType.CHANGE_GTT_REJECTED);
-
-                assertNoEventsReceived();
-            }
-
             public class OnPatialCloseEvent {
 
                 private OrderEvent partialCloseEvent;
@@ -186,7 +173,9 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
                     }
 
                     @Test
-                    public void observableCompleted() {
+                    public void observableCompletesWithGatewayCall() {
+                        orderEventSubject.onComplete();
+
                         testObserver.assertComplete();
                     }
                 }
@@ -3,6 +3,8 @@ package com.jforex.programming.order.test;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Before;
@@ -12,16 +14,21 @@ import org.mockito.Mock;
 
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.jforex.programming.order.OrderParams;
 import com.jforex.programming.order.OrderUtil;
 import com.jforex.programming.order.command.ClosePositionCommand;
 import com.jforex.programming.order.command.MergeCommand;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.event.SubmitOrderEvent;
 import com.jforex.programming.order.task.BasicTask;
 import com.jforex.programming.order.task.CloseTask;
 import com.jforex.programming.order.task.MergeTask;
 import com.jforex.programming.position.PositionOrders;
 import com.jforex.programming.position.PositionUtil;
+import com.jforex.programming.test.common.CommonUtilForTest;
 import com.jforex.programming.test.common.InstrumentUtilForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
@@ -70,6 +77,47 @@ public class OrderUtilTest extends InstrumentUtilForTest {
         assertThat(actualObservable, equalTo(orderEventObservable));
     }
 
+    @Test
+    public void submitOrdersDelegatesToOrderBasicTask() {
+        final List<OrderParams> orderParamsList = Lists.newArrayList(buyParamsEURUSD, sellParamsEURUSD);
+        final Observable<SubmitOrderEvent> submitOrdersObservable = Observable.empty();
+        when(orderBasicTaskMock.submitOrders(orderParamsList))
+            .thenReturn(submitOrdersObservable);
+
+        final Observable<SubmitOrderEvent> actualObservable = orderUtil.submitOrders(orderParamsList);
+
+        verify(orderBasicTaskMock).submitOrders(orderParamsList);
+        assertThat(actualObservable, equalTo(submitOrdersObservable));
+    }
+
+    public class AwaitVariants {
+
+        private final OrderEvent closeEvent = new OrderEvent(orderForTest,
+                                                             OrderEventType.CLOSE_OK,
+                                                             true);
+
+        @Before
+        public void setUp() {
+            when(orderBasicTaskMock.close(orderForTest))
+                .thenReturn(Observable.just(closeEvent));
+        }
+
+        @Test
+        public void closeAndAwaitReturnsAllEvents() {
+            CommonUtilForTest.setNotStrategyThread();
+
+            assertThat(orderUtil.closeAndAwait(orderForTest),
+                       equalTo(Arrays.asList(closeEvent)));
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void awaitOnStrategyThreadIsRejected() {
+            CommonUtilForTest.setStrategyThread();
+
+            orderUtil.closeAndAwait(orderForTest);
+        }
+    }
+
     @Test
     public void mergeOrdersDelegatesToOrderBasicTask() {
         final String mergeOrderLabel = "mergeOrderLabel";
@@ -0,0 +1,232 @@
+package com.jforex.programming.position.test;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.math.CalculationUtil;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.position.PortfolioView;
+import com.jforex.programming.position.PositionFactory;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.test.common.CurrencyUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class PortfolioViewTest extends CurrencyUtilForTest {
+
+    private PortfolioView portfolioView;
+    private PositionFactory positionFactory;
+
+    @Mock
+    private CalculationUtil calculationUtilMock;
+    private final Subject<OrderEvent> orderEventSubject = PublishSubject.create();
+    private final Subject<TickQuote> tickQuoteSubject = PublishSubject.create();
+    private final double eurusdConversionRate = 1.326;
+
+    @Before
+    public void setUp() {
+        setUpMocks();
+
+        positionFactory = new PositionFactory(orderEventSubject);
+        positionFactory.forInstrument(instrumentEURUSD);
+
+        portfolioView = new PortfolioView(positionFactory,
+                                          orderEventSubject,
+                                          tickQuoteHandlerMock,
+                                          calculationUtilMock,
+                                          accountMock);
+    }
+
+    private void setUpMocks() {
+        when(tickQuoteHandlerMock.observable()).thenReturn(tickQuoteSubject);
+        when(tickQuoteHandlerMock.ask(instrumentEURUSD)).thenReturn(1.3262);
+        when(tickQuoteHandlerMock.bid(instrumentEURUSD)).thenReturn(1.326);
+        when(accountMock.getAccountCurrency()).thenReturn(currencyUSD);
+        when(accountMock.getLeverage()).thenReturn(100.0);
+        when(calculationUtilMock.convertAmount(anyDouble(),
+                                               eq(currencyUSD),
+                                               eq(currencyUSD),
+                                               eq(OfferSide.BID)))
+                                                   .thenAnswer(invocation -> invocation.getArgument(0));
+        when(calculationUtilMock.convertAmount(anyDouble(),
+                                               eq(currencyEUR),
+                                               eq(currencyUSD),
+                                               eq(OfferSide.ASK)))
+                                                   .thenAnswer(invocation -> (double) invocation.getArgument(0)
+                                                           * eurusdConversionRate);
+    }
+
+    private void sendOrderEvent(final IOrder order,
+                                final OrderEventType orderEventType) {
+        orderEventSubject.onNext(new OrderEvent(order, orderEventType, true));
+    }
+
+    private void sendTick(final double ask,
+                          final double bid) {
+        final ITick tick = mock(ITick.class);
+        when(tick.getAsk()).thenReturn(ask);
+        when(tick.getBid()).thenReturn(bid);
+
+        tickQuoteSubject.onNext(new TickQuote(instrumentEURUSD, tick));
+    }
+
+    @Test
+    public void emptyPortfolioHasNoExposure() {
+        assertThat(portfolioView.netExposure(currencyEUR), equalTo(0.0));
+        assertThat(portfolioView.unrealizedPL(instrumentEURUSD), equalTo(0.0));
+        assertThat(portfolioView.totalUsedMargin(), equalTo(0.0));
+        assertThat(portfolioView.netExposures().size(), equalTo(0));
+    }
+
+    @Test
+    public void ticksForUnknownInstrumentsAreIgnored() {
+        sendTick(1.4, 1.39);
+
+        assertThat(portfolioView.totalUnrealizedPL(), equalTo(0.0));
+    }
+
+    @Test
+    public void recalculateAllPicksUpRestoredOrders() {
+        orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.FILLED);
+        orderUtilForTest.setOpenPrice(buyOrderEURUSD, 1.325);
+        positionFactory.restoreOrder(buyOrderEURUSD);
+
+        portfolioView.recalculateAll();
+
+        assertThat(portfolioView.netExposure(currencyEUR), closeTo(100000.0, 1e-6));
+        assertThat(portfolioView.netExposure(currencyUSD), closeTo(-132500.0, 1e-6));
+    }
+
+    public class FilledBuyOrder {
+
+        @Before
+        public void setUp() {
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.SUBMIT_OK);
+
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.FILLED);
+            orderUtilForTest.setOpenPrice(buyOrderEURUSD, 1.325);
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.FULLY_FILLED);
+        }
+
+        @Test
+        public void netExposurePerCurrencyIsCorrect() {
+            assertThat(portfolioView.netExposure(currencyEUR), closeTo(100000.0, 1e-6));
+            assertThat(portfolioView.netExposure(currencyUSD), closeTo(-132500.0, 1e-6));
+            assertThat(portfolioView.netExposures().size(), equalTo(2));
+        }
+
+        @Test
+        public void unrealizedPLIsValuedAtBid() {
+            assertThat(portfolioView.unrealizedPL(instrumentEURUSD), closeTo(100.0, 1e-6));
+            assertThat(portfolioView.totalUnrealizedPL(), closeTo(100.0, 1e-6));
+        }
+
+        @Test
+        public void usedMarginIsNotionalInAccountCurrencyByLeverage() {
+            assertThat(portfolioView.usedMargin(instrumentEURUSD), closeTo(1326.0, 1e-6));
+            assertThat(portfolioView.totalUsedMargin(), closeTo(1326.0, 1e-6));
+        }
+
+        @Test
+        public void tickUpdatesUnrealizedPL() {
+            sendTick(1.3272, 1.327);
+
+            assertThat(portfolioView.unrealizedPL(instrumentEURUSD), closeTo(200.0, 1e-6));
+            assertThat(portfolioView.totalUnrealizedPL(), closeTo(200.0, 1e-6));
+            assertThat(portfolioView.netExposure(currencyEUR), closeTo(100000.0, 1e-6));
+        }
+
+        @Test
+        public void closedOrderClearsExposure() {
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CLOSED);
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK);
+
+            assertThat(portfolioView.netExposure(currencyEUR), closeTo(0.0, 1e-6));
+            assertThat(portfolioView.netExposure(currencyUSD), closeTo(0.0, 1e-6));
+            assertThat(portfolioView.totalUnrealizedPL(), closeTo(0.0, 1e-6));
+            assertThat(portfolioView.totalUsedMargin(), closeTo(0.0, 1e-6));
+        }
+
+        @Test
+        public void closedPositionIsPruned() {
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CLOSED);
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK);
+
+            assertThat(portfolioView.noOfExposedInstruments(), equalTo(0));
+            assertTrue(portfolioView.netExposures().isEmpty());
+        }
+
+        @Test
+        public void conversionFailureKeepsViewSubscribed() {
+            when(calculationUtilMock.convertAmount(anyDouble(),
+                                                   eq(currencyUSD),
+                                                   eq(currencyUSD),
+                                                   eq(OfferSide.BID)))
+                                                       .thenThrow(new NoSuchElementException());
+            sendTick(1.3272, 1.327);
+
+            assertThat(portfolioView.unrealizedPL(instrumentEURUSD), closeTo(100.0, 1e-6));
+            assertTrue(tickQuoteSubject.hasObservers());
+            assertTrue(orderEventSubject.hasObservers());
+
+            doAnswer(invocation -> invocation.getArgument(0))
+                .when(calculationUtilMock)
+                .convertAmount(anyDouble(),
+                               eq(currencyUSD),
+                               eq(currencyUSD),
+                               eq(OfferSide.BID));
+            sendTick(1.3272, 1.327);
+
+            assertThat(portfolioView.unrealizedPL(instrumentEURUSD), closeTo(200.0, 1e-6));
+        }
+    }
+
+    public class HedgedBuyAndSellOrders {
+
+        @Before
+        public void setUp() {
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.SUBMIT_OK);
+            sendOrderEvent(sellOrderEURUSD, OrderEventType.SUBMIT_OK);
+
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.FILLED);
+            orderUtilForTest.setAmount(buyOrderEURUSD, 1.0);
+            orderUtilForTest.setOpenPrice(buyOrderEURUSD, 1.10);
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.FULLY_FILLED);
+
+            orderUtilForTest.setState(sellOrderEURUSD, IOrder.State.FILLED);
+            orderUtilForTest.setAmount(sellOrderEURUSD, 0.5);
+            orderUtilForTest.setOpenPrice(sellOrderEURUSD, 1.20);
+            sendOrderEvent(sellOrderEURUSD, OrderEventType.FULLY_FILLED);
+        }
+
+        @Test
+        public void netExposurePerCurrencyUsesSignedNotional() {
+            assertThat(portfolioView.netExposure(currencyEUR), closeTo(500000.0, 1e-6));
+            assertThat(portfolioView.netExposure(currencyUSD), closeTo(-500000.0, 1e-6));
+        }
+
+        @Test
+        public void unrealizedPLValuesNetLongAtBid() {
+            assertThat(portfolioView.unrealizedPL(instrumentEURUSD), closeTo(500000.0 * 1.326 - 500000.0, 1e-6));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.jforex.programming.position.test;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -10,6 +11,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.dukascopy.api.IOrder;
 import com.google.common.collect.Lists;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventType;
@@ -19,6 +21,8 @@ import com.jforex.programming.test.common.InstrumentUtilForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.Observable;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
 
 @RunWith(HierarchicalContextRunner.class)
 public class PositionFactoryTest extends InstrumentUtilForTest {
@@ -104,4 +108,64 @@ public class PositionFactoryTest extends InstrumentUtilForTest {
             }
         }
     }
+
+    public class EventRouting {
+
+        private final Subject<OrderEvent> orderEventSubject = PublishSubject.create();
+        private Position positionEURUSD;
+        private Position positionAUDUSD;
+
+        @Before
+        public void setUp() {
+            positionFactory = new PositionFactory(orderEventSubject);
+            positionEURUSD = positionFactory.forInstrument(instrumentEURUSD);
+            positionAUDUSD = positionFactory.forInstrument(instrumentAUDUSD);
+
+            orderEventSubject.onNext(new OrderEvent(buyOrderEURUSD, OrderEventType.SUBMIT_OK, true));
+            orderEventSubject.onNext(new OrderEvent(buyOrderAUDUSD, OrderEventType.SUBMIT_OK, true));
+        }
+
+        @Test
+        public void createdOrdersAreRoutedToPositionOfInstrument() {
+            assertTrue(positionEURUSD.contains(buyOrderEURUSD));
+            assertTrue(positionAUDUSD.contains(buyOrderAUDUSD));
+            assertFalse(positionEURUSD.contains(buyOrderAUDUSD));
+            assertFalse(positionAUDUSD.contains(buyOrderEURUSD));
+        }
+
+        @Test
+        public void externalCreatedOrdersAreNotRouted() {
+            orderEventSubject.onNext(new OrderEvent(sellOrderEURUSD, OrderEventType.SUBMIT_OK, false));
+
+            assertFalse(positionEURUSD.contains(sellOrderEURUSD));
+        }
+
+        @Test
+        public void closedOrderIsRemovedFromItsPosition() {
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CLOSED);
+            orderEventSubject.onNext(new OrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK, true));
+
+            assertFalse(positionEURUSD.contains(buyOrderEURUSD));
+            assertTrue(positionAUDUSD.contains(buyOrderAUDUSD));
+        }
+
+        @Test
+        public void filledOrderUpdatesAggregatesOfItsPosition() {
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.FILLED);
+            orderEventSubject.onNext(new OrderEvent(buyOrderEURUSD, OrderEventType.FULLY_FILLED, true));
+
+            assertThat(positionEURUSD.filledCount(), equalTo(1));
+            assertThat(positionAUDUSD.filledCount(), equalTo(0));
+        }
+
+        @Test
+        public void ordersOfInstrumentWithoutPositionAreIgnored() {
+            final Subject<OrderEvent> otherEventSubject = PublishSubject.create();
+            final PositionFactory otherFactory = new PositionFactory(otherEventSubject);
+
+            otherEventSubject.onNext(new OrderEvent(sellOrderAUDUSD, OrderEventType.SUBMIT_OK, true));
+
+            assertFalse(otherFactory.forInstrument(instrumentAUDUSD).contains(sellOrderAUDUSD));
+        }
+    }
 }
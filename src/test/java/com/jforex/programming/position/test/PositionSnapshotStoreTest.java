@@ -0,0 +1,205 @@
+package com.jforex.programming.position.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.IOrder;
+import com.google.common.collect.Lists;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallRequest;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventFactory;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.position.PositionFactory;
+import com.jforex.programming.position.PositionSnapshotStore;
+import com.jforex.programming.test.common.InstrumentUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class PositionSnapshotStoreTest extends InstrumentUtilForTest {
+
+    private PositionSnapshotStore snapshotStore;
+    private PositionFactory positionFactory;
+    private OrderEventFactory orderEventFactory;
+
+    private Path snapshotFile;
+    private final Subject<OrderEvent> orderEventSubject = PublishSubject.create();
+    private final Subject<OrderCallRequest> callRequestSubject = PublishSubject.create();
+    private final List<IOrder> liveOrders = Lists.newArrayList(buyOrderEURUSD,
+                                                               sellOrderEURUSD,
+                                                               buyOrderAUDUSD);
+
+    @Before
+    public void setUp() throws IOException {
+        snapshotFile = Files.createTempFile("PositionSnapshotStoreTest", ".snapshot");
+        Files.delete(snapshotFile);
+
+        when(buyOrderEURUSD.getId()).thenReturn("1001");
+        when(sellOrderEURUSD.getId()).thenReturn("1002");
+        when(buyOrderAUDUSD.getId()).thenReturn("1003");
+
+        positionFactory = new PositionFactory(orderEventSubject);
+        orderEventFactory = new OrderEventFactory(callRequestSubject);
+        snapshotStore = new PositionSnapshotStore(snapshotFile,
+                                                  positionFactory,
+                                                  orderEventFactory);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    private PositionSnapshotStore newStoreAfterRestart() {
+        positionFactory = new PositionFactory(PublishSubject.create());
+        orderEventFactory = new OrderEventFactory(PublishSubject.create());
+        return new PositionSnapshotStore(snapshotFile,
+                                         positionFactory,
+                                         orderEventFactory);
+    }
+
+    @Test
+    public void restoreWithoutSnapshotFileRestoresNothing() {
+        assertThat(snapshotStore.restore(liveOrders), equalTo(0));
+        assertTrue(positionFactory.all().isEmpty());
+    }
+
+    @Test
+    public void restoreOfUnknownFormatRestoresNothing() throws IOException {
+        Files.write(snapshotFile, new byte[] { 1, 2, 3 });
+
+        assertThat(snapshotStore.restore(liveOrders), equalTo(0));
+    }
+
+    @Test
+    public void pendingCallReasonsAboveByteRangeAreRestored() {
+        for (int i = 0; i < 200; ++i)
+            callRequestSubject.onNext(new OrderCallRequest(buyOrderEURUSD, OrderCallReason.CHANGE_SL));
+        assertTrue(snapshotStore.write());
+
+        newStoreAfterRestart().restore(liveOrders);
+
+        assertThat(orderEventFactory.pendingCallReasons().get(buyOrderEURUSD).size(), equalTo(200));
+    }
+
+    @Test
+    public void inFlightOrdersWithoutIdAreSkipped() {
+        positionFactory.forInstrument(instrumentEURUSD);
+        orderEventSubject.onNext(new OrderEvent(buyOrderEURUSD, OrderEventType.SUBMIT_OK, true));
+        orderEventSubject.onNext(new OrderEvent(sellOrderEURUSD, OrderEventType.SUBMIT_OK, true));
+        callRequestSubject.onNext(new OrderCallRequest(buyOrderEURUSD, OrderCallReason.CHANGE_SL));
+        callRequestSubject.onNext(new OrderCallRequest(sellOrderEURUSD, OrderCallReason.CLOSE));
+        when(buyOrderEURUSD.getId()).thenReturn(null);
+
+        assertTrue(snapshotStore.write());
+
+        assertThat(newStoreAfterRestart().restore(liveOrders), equalTo(1));
+        assertTrue(positionFactory.forInstrument(instrumentEURUSD).contains(sellOrderEURUSD));
+        assertThat(orderEventFactory.pendingCallReasons().get(sellOrderEURUSD),
+                   equalTo(Arrays.asList(OrderCallReason.CLOSE)));
+    }
+
+    public class AfterWrite {
+
+        @Before
+        public void setUp() {
+            positionFactory.forInstrument(instrumentEURUSD);
+            positionFactory.forInstrument(instrumentAUDUSD);
+
+            orderEventSubject.onNext(new OrderEvent(buyOrderEURUSD, OrderEventType.SUBMIT_OK, true));
+            orderEventSubject.onNext(new OrderEvent(sellOrderEURUSD, OrderEventType.SUBMIT_OK, true));
+            orderEventSubject.onNext(new OrderEvent(buyOrderAUDUSD, OrderEventType.SUBMIT_OK, true));
+            callRequestSubject.onNext(new OrderCallRequest(buyOrderEURUSD, OrderCallReason.CHANGE_SL));
+            callRequestSubject.onNext(new OrderCallRequest(buyOrderEURUSD, OrderCallReason.CLOSE));
+
+            assertTrue(snapshotStore.write());
+        }
+
+        @Test
+        public void snapshotFileIsWritten() {
+            assertTrue(Files.exists(snapshotFile));
+        }
+
+        @Test
+        public void positionMembershipIsRestoredFromLiveOrders() {
+            final PositionSnapshotStore restartedStore = newStoreAfterRestart();
+
+            assertThat(restartedStore.restore(liveOrders), equalTo(3));
+            assertTrue(positionFactory.forInstrument(instrumentEURUSD).contains(buyOrderEURUSD));
+            assertTrue(positionFactory.forInstrument(instrumentEURUSD).contains(sellOrderEURUSD));
+            assertTrue(positionFactory.forInstrument(instrumentAUDUSD).contains(buyOrderAUDUSD));
+        }
+
+        @Test
+        public void pendingCallReasonsAreRestored() {
+            newStoreAfterRestart().restore(liveOrders);
+
+            assertThat(orderEventFactory.pendingCallReasons().get(buyOrderEURUSD),
+                       equalTo(Arrays.asList(OrderCallReason.CHANGE_SL, OrderCallReason.CLOSE)));
+            assertThat(orderEventFactory.pendingCallReasons().size(), equalTo(1));
+        }
+
+        @Test
+        public void ordersMissingInEngineAreSkipped() {
+            final PositionSnapshotStore restartedStore = newStoreAfterRestart();
+
+            assertThat(restartedStore.restore(Lists.newArrayList(sellOrderEURUSD)), equalTo(1));
+            assertFalse(positionFactory.forInstrument(instrumentEURUSD).contains(buyOrderEURUSD));
+            assertTrue(orderEventFactory.pendingCallReasons().isEmpty());
+        }
+
+        @Test
+        public void liveOrdersWithNullOrDuplicateIdDoNotFailRestore() {
+            final IOrder duplicateIdOrder = orderUtilForTest.buyOrderEURUSD2();
+            when(duplicateIdOrder.getId()).thenReturn("1002");
+            when(buyOrderAUDUSD.getId()).thenReturn(null);
+            final PositionSnapshotStore restartedStore = newStoreAfterRestart();
+
+            assertThat(restartedStore.restore(Lists.newArrayList(buyOrderEURUSD,
+                                                                 sellOrderEURUSD,
+                                                                 duplicateIdOrder,
+                                                                 buyOrderAUDUSD)),
+                       equalTo(2));
+            assertTrue(positionFactory.forInstrument(instrumentEURUSD).contains(sellOrderEURUSD));
+        }
+
+        @Test
+        public void closedOrdersAreNotRestored() {
+            orderUtilForTest.setState(buyOrderAUDUSD, IOrder.State.CLOSED);
+            final PositionSnapshotStore restartedStore = newStoreAfterRestart();
+
+            assertThat(restartedStore.restore(liveOrders), equalTo(2));
+            assertFalse(positionFactory.forInstrument(instrumentAUDUSD).contains(buyOrderAUDUSD));
+        }
+
+        @Test
+        public void restoredOrdersAreRoutedOnFurtherEvents() {
+            final Subject<OrderEvent> restartedEventSubject = PublishSubject.create();
+            positionFactory = new PositionFactory(restartedEventSubject);
+            new PositionSnapshotStore(snapshotFile,
+                                      positionFactory,
+                                      new OrderEventFactory(PublishSubject.create())).restore(liveOrders);
+
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CLOSED);
+            restartedEventSubject.onNext(new OrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK, true));
+
+            assertFalse(positionFactory.forInstrument(instrumentEURUSD).contains(buyOrderEURUSD));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.jforex.programming.position.test;
 
 import static com.jforex.programming.order.event.OrderEventTypeSets.allEvents;
 import static com.jforex.programming.order.event.OrderEventTypeSets.createEvents;
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -13,7 +14,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.dukascopy.api.IEngine.OrderCommand;
 import com.dukascopy.api.IOrder;
+import com.google.common.collect.Sets;
+import com.jforex.programming.math.MathUtil;
 import com.jforex.programming.order.OrderDirection;
 import com.jforex.programming.order.OrderStaticUtil;
 import com.jforex.programming.order.event.OrderEvent;
@@ -79,6 +83,104 @@ public class PositionTest extends InstrumentUtilForTest {
         assertFalse(position.contains(buyOrderAUDUSD));
     }
 
+    @Test
+    public void concurrentReaderNeverSeesPartiallyAppliedUpdate() throws InterruptedException {
+        sendOrderEvent(buyOrderEURUSD, OrderEventType.SUBMIT_OK);
+        orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.FILLED);
+        orderUtilForTest.setOpenPrice(buyOrderEURUSD, 1.325);
+        sendOrderEvent(buyOrderEURUSD, OrderEventType.FULLY_FILLED);
+        final double expectedExposure = position.signedExposure();
+        final Thread updater = new Thread(() -> {
+            for (int i = 0; i < 20000; ++i)
+                sendOrderEvent(buyOrderEURUSD, OrderEventType.CHANGED_SL);
+        });
+
+        updater.start();
+        while (updater.isAlive()) {
+            assertThat(position.signedExposure(), equalTo(expectedExposure));
+            assertThat(position.averageEntryPrice(), equalTo(1.325));
+        }
+        updater.join();
+    }
+
+    public class IndexedQueries {
+
+        @Before
+        public void setUp() {
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.FILLED);
+            orderUtilForTest.setState(sellOrderEURUSD, IOrder.State.FILLED);
+            orderUtilForTest.setState(buyOrderEURUSD2, IOrder.State.OPENED);
+            orderUtilForTest.setOrderCommand(buyOrderEURUSD2, OrderCommand.BUYLIMIT);
+
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.SUBMIT_OK);
+            sendOrderEvent(sellOrderEURUSD, OrderEventType.SUBMIT_OK);
+            sendOrderEvent(buyOrderEURUSD2, OrderEventType.SUBMIT_OK);
+        }
+
+        @Test
+        public void ordersInStateAreIndexed() {
+            assertThat(position.inState(IOrder.State.FILLED),
+                       equalTo(Sets.newHashSet(buyOrderEURUSD, sellOrderEURUSD)));
+            assertThat(position.inState(IOrder.State.OPENED),
+                       equalTo(Sets.newHashSet(buyOrderEURUSD2)));
+            assertTrue(position.inState(IOrder.State.CREATED).isEmpty());
+        }
+
+        @Test
+        public void ordersInStateAndDirectionAreIndexed() {
+            assertThat(position.inState(IOrder.State.FILLED, OrderDirection.LONG),
+                       equalTo(Sets.newHashSet(buyOrderEURUSD)));
+            assertThat(position.inState(IOrder.State.FILLED, OrderDirection.SHORT),
+                       equalTo(Sets.newHashSet(sellOrderEURUSD)));
+            assertTrue(position.inState(IOrder.State.FILLED, OrderDirection.FLAT).isEmpty());
+        }
+
+        @Test
+        public void conditionalOrdersAreIndexed() {
+            assertThat(position.conditionalInState(IOrder.State.OPENED),
+                       equalTo(Sets.newHashSet(buyOrderEURUSD2)));
+            assertTrue(position.conditionalInState(IOrder.State.FILLED).isEmpty());
+        }
+
+        @Test
+        public void orderByLabelIsIndexed() {
+            assertThat(position.orderByLabel(buyOrderEURUSD.getLabel()).get(), equalTo(buyOrderEURUSD));
+            assertFalse(position.orderByLabel("unknownLabel").isPresent());
+        }
+
+        @Test
+        public void indexesFollowStateChangingEvents() {
+            orderUtilForTest.setState(buyOrderEURUSD2, IOrder.State.FILLED);
+            sendOrderEvent(buyOrderEURUSD2, OrderEventType.FULLY_FILLED);
+
+            assertTrue(position.inState(IOrder.State.OPENED).isEmpty());
+            assertThat(position.inState(IOrder.State.FILLED, OrderDirection.LONG),
+                       equalTo(Sets.newHashSet(buyOrderEURUSD, buyOrderEURUSD2)));
+            assertThat(position.conditionalInState(IOrder.State.FILLED),
+                       equalTo(Sets.newHashSet(buyOrderEURUSD2)));
+        }
+
+        @Test
+        public void labelIndexFollowsLabelChange() {
+            final String oldLabel = buyOrderEURUSD.getLabel();
+            orderUtilForTest.setLabel(buyOrderEURUSD, "newLabel");
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CHANGED_LABEL);
+
+            assertFalse(position.orderByLabel(oldLabel).isPresent());
+            assertThat(position.orderByLabel("newLabel").get(), equalTo(buyOrderEURUSD));
+        }
+
+        @Test
+        public void closedOrderIsRemovedFromIndexes() {
+            orderUtilForTest.setState(sellOrderEURUSD, IOrder.State.CLOSED);
+            sendOrderEvent(sellOrderEURUSD, OrderEventType.CLOSE_OK);
+
+            assertTrue(position.inState(IOrder.State.FILLED, OrderDirection.SHORT).isEmpty());
+            assertTrue(position.inState(IOrder.State.CLOSED).isEmpty());
+            assertFalse(position.orderByLabel(sellOrderEURUSD.getLabel()).isPresent());
+        }
+    }
+
     public class AddingBuyOrder {
 
         @Before
@@ -108,6 +210,13 @@ public class PositionTest extends InstrumentUtilForTest {
             assertThat(position.direction(), equalTo(OrderDirection.FLAT));
         }
 
+        @Test
+        public void openedOrderIsCounted() {
+            assertThat(position.openedCount(), equalTo(1));
+            assertThat(position.filledCount(), equalTo(0));
+            assertThat(position.averageEntryPrice(), equalTo(0.0));
+        }
+
         @Test
         public void testNoExposure() {
             assertThat(position.signedExposure(), equalTo(0.0));
@@ -149,6 +258,37 @@ public class PositionTest extends InstrumentUtilForTest {
             @Before
             public void setUp() {
                 orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.FILLED);
+                orderUtilForTest.setOpenPrice(buyOrderEURUSD, 1.325);
+
+                sendOrderEvent(buyOrderEURUSD, OrderEventType.FULLY_FILLED);
+            }
+
+            @Test
+            public void countsAreUpdated() {
+                assertThat(position.filledCount(), equalTo(1));
+                assertThat(position.openedCount(), equalTo(0));
+            }
+
+            @Test
+            public void averageEntryPriceIsOpenPrice() {
+                assertThat(position.averageEntryPrice(), equalTo(1.325));
+            }
+
+            @Test
+            public void stopLossRiskAndTakeProfitRewardAreAmountWeighted() {
+                assertThat(position.stopLossRisk(),
+                           closeTo(buyOrderEURUSD.getAmount() * (1.325 - 1.32456), 1e-12));
+                assertThat(position.takeProfitReward(),
+                           closeTo(buyOrderEURUSD.getAmount() * (1.32556 - 1.325), 1e-12));
+            }
+
+            @Test
+            public void stopLossRiskIsZeroWhenNoStopLossIsSet() {
+                orderUtilForTest.setSL(buyOrderEURUSD, 0.0);
+                sendOrderEvent(buyOrderEURUSD, OrderEventType.CHANGED_SL);
+
+                assertThat(position.stopLossRisk(), equalTo(0.0));
+                assertThat(position.filledCount(), equalTo(1));
             }
 
             @Test
@@ -184,6 +324,7 @@ public class PositionTest extends InstrumentUtilForTest {
                 @Before
                 public void setUp() {
                     orderUtilForTest.setState(sellOrderEURUSD, IOrder.State.FILLED);
+                    orderUtilForTest.setOpenPrice(sellOrderEURUSD, 1.3255);
 
                     sendOrderEvent(sellOrderEURUSD, OrderEventType.SUBMIT_OK);
 
@@ -201,6 +342,17 @@ public class PositionTest extends InstrumentUtilForTest {
                     assertThat(position.size(), equalTo(2));
                 }
 
+                @Test
+                public void averageEntryPriceIsVolumeWeighted() {
+                    final double buyAmount = buyOrderEURUSD.getAmount();
+                    final double sellAmount = sellOrderEURUSD.getAmount();
+                    final double expectedPrice = (buyAmount * 1.325 + sellAmount * 1.3255)
+                            / (buyAmount + sellAmount);
+
+                    assertThat(position.averageEntryPrice(), closeTo(expectedPrice, 1e-12));
+                    assertThat(position.filledCount(), equalTo(2));
+                }
+
                 @Test
                 public void testDirectionIsShortSinceSellAmountIsBigger() {
                     assertThat(position.direction(), equalTo(OrderDirection.SHORT));
@@ -210,7 +362,7 @@ public class PositionTest extends InstrumentUtilForTest {
                 public void testExposureIsSignedAmount() {
                     final double buyAmount = OrderStaticUtil.signedAmount(buyOrderEURUSD);
                     final double sellAmount = OrderStaticUtil.signedAmount(sellOrderEURUSD);
-                    assertThat(position.signedExposure(), equalTo(buyAmount + sellAmount));
+                    assertThat(position.signedExposure(), equalTo(MathUtil.roundAmount(buyAmount + sellAmount)));
                 }
 
                 @Test
@@ -262,7 +414,7 @@ public class PositionTest extends InstrumentUtilForTest {
                     public void testExposureIsSignedAmount() {
                         final double buyAmount = OrderStaticUtil.signedAmount(buyOrderEURUSD);
                         final double sellAmount = OrderStaticUtil.signedAmount(sellOrderEURUSD);
-                        assertThat(position.signedExposure(), equalTo(buyAmount + sellAmount));
+                        assertThat(position.signedExposure(), equalTo(MathUtil.roundAmount(buyAmount + sellAmount)));
                     }
 
                     @Test
@@ -310,7 +462,7 @@ public class PositionTest extends InstrumentUtilForTest {
                         public void testExposureIsSignedAmount() {
                             final double buyAmount = OrderStaticUtil.signedAmount(buyOrderEURUSD);
                             final double sellAmount = OrderStaticUtil.signedAmount(sellOrderEURUSD);
-                            assertThat(position.signedExposure(), equalTo(buyAmount + sellAmount));
+                            assertThat(position.signedExposure(), equalTo(MathUtil.roundAmount(buyAmount + sellAmount)));
                         }
 
                         @Test
@@ -361,6 +513,8 @@ public class PositionTest extends InstrumentUtilForTest {
 
                     final double sellAmount = OrderStaticUtil.signedAmount(sellOrderEURUSD);
                     assertThat(position.signedExposure(), equalTo(sellAmount));
+                    assertThat(position.filledCount(), equalTo(1));
+                    assertThat(position.averageEntryPrice(), closeTo(1.3255, 1e-12));
 
                     final Set<IOrder> orders = position.all();
                     assertTrue(orders.contains(sellOrderEURUSD));
@@ -414,4 +568,37 @@ public class PositionTest extends InstrumentUtilForTest {
             }
         }
     }
+
+    public class PartialClosesAndOffsettingSell {
+
+        @Before
+        public void setUp() {
+            orderUtilForTest.setAmount(buyOrderEURUSD, 0.2);
+            orderUtilForTest.setAmount(buyOrderEURUSD2, 0.1);
+            orderUtilForTest.setAmount(sellOrderEURUSD, 0.1);
+            fillOrder(buyOrderEURUSD);
+            fillOrder(buyOrderEURUSD2);
+
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CLOSED);
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK);
+            fillOrder(sellOrderEURUSD);
+        }
+
+        private void fillOrder(final IOrder order) {
+            orderUtilForTest.setState(order, IOrder.State.FILLED);
+            sendOrderEvent(order, OrderEventType.SUBMIT_OK);
+            sendOrderEvent(order, OrderEventType.FULLY_FILLED);
+        }
+
+        @Test
+        public void exposureIsExactlyZero() {
+            assertThat(position.signedExposure(), equalTo(0.0));
+        }
+
+        @Test
+        public void directionIsFLAT() {
+            assertThat(position.direction(), equalTo(OrderDirection.FLAT));
+            assertThat(position.filledCount(), equalTo(2));
+        }
+    }
 }
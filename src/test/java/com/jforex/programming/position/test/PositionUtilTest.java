@@ -111,5 +111,39 @@ public class PositionUtilTest extends InstrumentUtilForTest {
             assertTrue(observables.contains(observableForEURUSD));
             assertTrue(observables.contains(observableForAUDUSD));
         }
+
+        @Test
+        public void deferredEmitsNothingForNoPositions() {
+            when(positionFactoryMock.all()).thenReturn(Sets.newHashSet());
+
+            positionUtil
+                .deferredObservablesFromFactory(commandFactory)
+                .test()
+                .assertNoValues()
+                .assertComplete();
+        }
+
+        @Test
+        public void deferredFactoryIsNotCalledBeforeSubscription() {
+            when(positionFactoryMock.all()).thenReturn(Sets.newHashSet(positionEURUSDMock, positionAUDUSDMock));
+
+            positionUtil.deferredObservablesFromFactory(commandFactory);
+
+            verifyZeroInteractions(positionFactoryMock);
+        }
+
+        @Test
+        public void deferredEmitsCorrectObservables() {
+            when(positionFactoryMock.all()).thenReturn(Sets.newHashSet(positionEURUSDMock, positionAUDUSDMock));
+
+            final List<Observable<OrderEvent>> observables = positionUtil
+                .deferredObservablesFromFactory(commandFactory)
+                .toList()
+                .blockingGet();
+
+            assertThat(observables.size(), equalTo(2));
+            assertTrue(observables.contains(observableForEURUSD));
+            assertTrue(observables.contains(observableForAUDUSD));
+        }
     }
 }
@@ -0,0 +1,49 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.dukascopy.api.IBar;
+import com.jforex.programming.quote.AggregatedBar;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+public class AggregatedBarTest extends QuoteProviderForTest {
+
+    private final IBar firstBar = mockForIBar(1.2, 1.5, 1.1, 1.6, 10.0);
+    private final IBar secondBar = mockForIBar(1.5, 1.3, 1.2, 1.8, 5.0);
+    private final AggregatedBar aggregatedBar = new AggregatedBar(1000L, Arrays.asList(firstBar, secondBar));
+
+    private IBar mockForIBar(final double open,
+                             final double close,
+                             final double low,
+                             final double high,
+                             final double volume) {
+        final IBar barMock = mock(IBar.class);
+        when(barMock.getOpen()).thenReturn(open);
+        when(barMock.getClose()).thenReturn(close);
+        when(barMock.getLow()).thenReturn(low);
+        when(barMock.getHigh()).thenReturn(high);
+        when(barMock.getVolume()).thenReturn(volume);
+
+        return barMock;
+    }
+
+    @Test
+    public void valuesAreAggregated() {
+        assertThat(aggregatedBar.getTime(), equalTo(1000L));
+        assertThat(aggregatedBar.getOpen(), equalTo(1.2));
+        assertThat(aggregatedBar.getClose(), equalTo(1.3));
+        assertThat(aggregatedBar.getLow(), equalTo(1.1));
+        assertThat(aggregatedBar.getHigh(), equalTo(1.8));
+        assertThat(aggregatedBar.getVolume(), equalTo(15.0));
+    }
+
+    @Test
+    public void isEqualsContractOK() {
+        testEqualsContract(aggregatedBar);
+    }
+}
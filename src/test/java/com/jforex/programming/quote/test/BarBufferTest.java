@@ -0,0 +1,137 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.IBar;
+import com.jforex.programming.quote.BarBuffer;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+
+@RunWith(HierarchicalContextRunner.class)
+public class BarBufferTest extends QuoteProviderForTest {
+
+    private BarBuffer barBuffer;
+
+    private final IBar firstBar = barForTime(100L);
+    private final IBar secondBar = barForTime(200L);
+    private final IBar thirdBar = barForTime(300L);
+
+    @Before
+    public void setUp() {
+        barBuffer = new BarBuffer(askBarEURUSDParams, 2);
+    }
+
+    private IBar barForTime(final long time) {
+        final IBar barMock = mock(IBar.class);
+        when(barMock.getTime()).thenReturn(time);
+
+        return barMock;
+    }
+
+    @Test
+    public void bufferIsInitiallyEmpty() {
+        assertThat(barBuffer.size(), equalTo(0));
+        assertThat(barBuffer.capacity(), equalTo(2));
+        assertThat(barBuffer.barParams(), equalTo(askBarEURUSDParams));
+        assertNull(barBuffer.latest());
+        assertFalse(barBuffer.isLive());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroCapacityIsNotAllowed() {
+        new BarBuffer(askBarEURUSDParams, 0);
+    }
+
+    public class FirstBarAddedFromHistory {
+
+        @Before
+        public void setUp() {
+            barBuffer.add(firstBar, false);
+        }
+
+        @Test
+        public void bufferIsNotLive() {
+            assertFalse(barBuffer.isLive());
+            assertThat(barBuffer.latest(), equalTo(firstBar));
+        }
+
+        @Test
+        public void olderBarIsIgnored() {
+            barBuffer.add(barForTime(50L), true);
+
+            assertThat(barBuffer.size(), equalTo(1));
+            assertThat(barBuffer.latest(), equalTo(firstBar));
+        }
+
+        @Test
+        public void barWithSameTimeReplacesLatest() {
+            final IBar updatedBar = barForTime(100L);
+
+            barBuffer.add(updatedBar, true);
+
+            assertThat(barBuffer.size(), equalTo(1));
+            assertThat(barBuffer.latest(), equalTo(updatedBar));
+        }
+
+        public class NewerBarsAddedFromLiveFeed {
+
+            @Before
+            public void setUp() {
+                barBuffer.add(secondBar, true);
+                barBuffer.add(thirdBar, true);
+            }
+
+            @Test
+            public void bufferIsLive() {
+                assertTrue(barBuffer.isLive());
+            }
+
+            @Test
+            public void oldestBarIsEvicted() {
+                assertThat(barBuffer.size(), equalTo(2));
+                assertThat(barBuffer.latest(2), equalTo(Arrays.asList(secondBar, thirdBar)));
+            }
+
+            @Test
+            public void latestWindowIsOrderedFromOldest() {
+                assertThat(barBuffer.latest(1), equalTo(Arrays.asList(thirdBar)));
+            }
+
+            @Test
+            public void barsBetweenAreFilteredByTime() {
+                assertThat(barBuffer.between(200L, 300L), equalTo(Arrays.asList(secondBar)));
+                assertThat(barBuffer.between(0L, 1000L), equalTo(Arrays.asList(secondBar, thirdBar)));
+            }
+
+            @Test
+            public void grownBufferKeepsBarsInOrder() {
+                final IBar fourthBar = barForTime(400L);
+
+                barBuffer.ensureCapacity(3);
+                barBuffer.add(fourthBar, true);
+
+                assertThat(barBuffer.capacity(), equalTo(3));
+                assertThat(barBuffer.latest(3), equalTo(Arrays.asList(secondBar, thirdBar, fourthBar)));
+            }
+
+            @Test
+            public void smallerCapacityDoesNotShrinkBuffer() {
+                barBuffer.ensureCapacity(1);
+
+                assertThat(barBuffer.capacity(), equalTo(2));
+                assertThat(barBuffer.latest(2), equalTo(Arrays.asList(secondBar, thirdBar)));
+            }
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.jforex.programming.quote.test;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
 import com.dukascopy.api.OfferSide;
 import com.dukascopy.api.Period;
+import com.dukascopy.api.Unit;
 import com.jforex.programming.quote.BarParams;
 import com.jforex.programming.test.common.InstrumentUtilForTest;
 
@@ -24,6 +28,43 @@ public class BarParamsTest extends InstrumentUtilForTest {
         assertThat(barParams.offerSide(), equalTo(OfferSide.ASK));
     }
 
+    @Test
+    public void builtParamsAreInterned() {
+        final BarParams sameParams = BarParams
+            .forInstrument(instrumentEURUSD)
+            .period(Period.DAILY)
+            .offerSide(OfferSide.ASK);
+
+        assertThat(sameParams, sameInstance(barParams));
+        assertThat(BarParams.of(instrumentEURUSD, Period.DAILY, OfferSide.ASK),
+                   sameInstance(barParams));
+    }
+
+    @Test
+    public void slotsAreDistinctPerOfferSideAndPeriod() {
+        final BarParams bidParams = BarParams.of(instrumentEURUSD, Period.DAILY, OfferSide.BID);
+        final BarParams hourParams = BarParams.of(instrumentEURUSD, Period.ONE_HOUR, OfferSide.ASK);
+
+        assertThat(bidParams.slot(), not(equalTo(barParams.slot())));
+        assertThat(hourParams.slot(), not(equalTo(barParams.slot())));
+        assertThat(hourParams.slot(), not(equalTo(bidParams.slot())));
+    }
+
+    @Test
+    public void slotIsBelowSlotCapacity() {
+        assertTrue(barParams.slot() < BarParams.slotCapacity());
+    }
+
+    @Test
+    public void customPeriodIsInternedBelowSlotCapacity() {
+        final Period customPeriod = Period.createCustomPeriod(Unit.Minute, 7);
+        final BarParams customParams = BarParams.of(instrumentEURUSD, customPeriod, OfferSide.ASK);
+
+        assertThat(BarParams.of(instrumentEURUSD, customPeriod, OfferSide.ASK), sameInstance(customParams));
+        assertThat(customParams.slot(), not(equalTo(barParams.slot())));
+        assertTrue(customParams.slot() < BarParams.slotCapacity());
+    }
+
     @Test
     public void isEqualsContractOK() {
         testEqualsContract(barParams);
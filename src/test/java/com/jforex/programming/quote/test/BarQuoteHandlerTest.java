@@ -11,6 +11,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import com.dukascopy.api.OfferSide;
+import com.google.common.collect.Lists;
 import com.jforex.programming.quote.BarParams;
 import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.quote.BarQuoteProvider;
@@ -87,6 +88,16 @@ public class BarQuoteHandlerTest extends QuoteProviderForTest {
                    equalTo(askBarAUDUSD));
     }
 
+    @Test
+    public void latestBarsComeFromRepository() {
+        final List<BarQuote> latestQuotes = Lists.newArrayList(askBarQuoteEURUSD);
+        when(barQuoteRepositoryMock.latest(askBarEURUSDParams, 3))
+            .thenReturn(latestQuotes);
+
+        assertThat(barQuoteHandler.latestBars(askBarEURUSDParams, 3),
+                   equalTo(latestQuotes));
+    }
+
     @Test
     public void filteredBarsAreEmitted() {
         filteredQuoteSubscriber.assertValueCount(2);
@@ -94,6 +105,11 @@ public class BarQuoteHandlerTest extends QuoteProviderForTest {
         assertCommonEmittedBars(filteredQuoteSubscriber);
     }
 
+    @Test
+    public void subscribedParamsAreWarmedUp() {
+        verify(barQuoteRepositoryMock).warmUp(quoteFilters);
+    }
+
     @Test
     public void unFilteredBarsAreEmitted() {
         unFilteredQuoteSubscriber.assertValueCount(4);
@@ -1,12 +1,21 @@
 package com.jforex.programming.quote.test;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.dukascopy.api.IBar;
+import com.dukascopy.api.OfferSide;
+import com.dukascopy.api.Period;
+import com.google.common.collect.Lists;
+import com.jforex.programming.quote.BarParams;
 import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.quote.BarQuoteRepository;
 import com.jforex.programming.test.common.QuoteProviderForTest;
@@ -22,10 +31,45 @@ public class BarQuoteRepositoryTest extends QuoteProviderForTest {
     private BarQuoteRepository barQuoteRepository;
 
     private final Subject<BarQuote> quoteObservable = PublishSubject.create();
+    private final int bufferCapacity = 20;
+    private final long hourStart = 10 * 3600000L;
+    private final BarParams askBarEURUSDHourParams = BarParams
+        .forInstrument(instrumentEURUSD)
+        .period(Period.ONE_HOUR)
+        .offerSide(OfferSide.ASK);
+
+    private IBar mockForIBar(final long time,
+                             final double open,
+                             final double close) {
+        final IBar barMock = mock(IBar.class);
+        when(barMock.getTime()).thenReturn(time);
+        when(barMock.getOpen()).thenReturn(open);
+        when(barMock.getClose()).thenReturn(close);
+        when(barMock.getLow()).thenReturn(Math.min(open, close));
+        when(barMock.getHigh()).thenReturn(Math.max(open, close));
+        when(barMock.getVolume()).thenReturn(1.0);
+
+        return barMock;
+    }
+
+    private void pushFiveMinuteBars(final int noOfBars) {
+        pushFiveMinuteBars(hourStart, 0, noOfBars);
+    }
+
+    private void pushFiveMinuteBars(final long startTime,
+                                    final int fromBar,
+                                    final int toBar) {
+        for (int i = fromBar; i < toBar; ++i) {
+            final IBar bar = mockForIBar(startTime + i * 300000L, 1.0 + i, 1.5 + i);
+            quoteObservable.onNext(new BarQuote(bar, askBarEURUSDParams));
+        }
+    }
 
     @Before
     public void setUp() {
-        barQuoteRepository = new BarQuoteRepository(quoteObservable, historyUtilMock);
+        barQuoteRepository = new BarQuoteRepository(quoteObservable,
+                                                    historyUtilMock,
+                                                    bufferCapacity);
     }
 
     public class BeforeBarsReceived {
@@ -75,6 +119,181 @@ public class BarQuoteRepositoryTest extends QuoteProviderForTest {
                 assertThat(receivedQuoteAUDUSD, equalTo(askBarQuoteAUDUSD));
                 verifyNoMoreInteractions(historyMock);
             }
+
+            @Test
+            public void latestBarsAreBuffered() {
+                final List<BarQuote> latestQuotes = barQuoteRepository.latest(askBarEURUSDParams, 5);
+
+                assertThat(latestQuotes.size(), equalTo(1));
+                assertThat(latestQuotes.get(0), equalTo(askBarQuoteEURUSD));
+            }
+
+            @Test
+            public void latestBarsForUnknownParamsAreEmpty() {
+                assertTrue(barQuoteRepository
+                    .latest(bidBarAUDUSDParams, 5)
+                    .isEmpty());
+            }
+        }
+    }
+
+    public class AfterWarmUp {
+
+        @Before
+        public void setUp() {
+            final List<BarParams> barParamsList = Lists.newArrayList(askBarEURUSDParams);
+            when(historyUtilMock.barQuotesObservable(barParamsList))
+                .thenReturn(Observable.just(askBarQuoteEURUSD));
+
+            barQuoteRepository.warmUp(barParamsList);
+        }
+
+        @Test
+        public void quoteComesFromWarmUpWithoutBlockingHistoryCall() {
+            assertThat(barQuoteRepository.get(askBarEURUSDParams), equalTo(askBarQuoteEURUSD));
+            verify(historyUtilMock, never()).latestBarObservable(askBarEURUSDParams);
+        }
+
+        @Test
+        public void bufferedParamsAreNotWarmedUpAgain() {
+            final List<BarParams> barParamsList = Lists.newArrayList(askBarEURUSDParams, askBarAUDUSDParams);
+            when(historyUtilMock.barQuotesObservable(any()))
+                .thenReturn(Observable.empty());
+
+            barQuoteRepository.warmUp(barParamsList);
+
+            verify(historyUtilMock).barQuotesObservable(Lists.newArrayList(askBarAUDUSDParams));
+        }
+    }
+
+    public class RollupFromLowerPeriod {
+
+        @Test
+        public void hourBarIsAggregatedFromCompleteFiveMinuteBars() {
+            pushFiveMinuteBars(12);
+
+            final IBar hourBar = barQuoteRepository
+                .get(askBarEURUSDHourParams)
+                .bar();
+
+            assertThat(hourBar.getTime(), equalTo(hourStart));
+            assertThat(hourBar.getOpen(), equalTo(1.0));
+            assertThat(hourBar.getClose(), equalTo(12.5));
+            assertThat(hourBar.getLow(), equalTo(1.0));
+            assertThat(hourBar.getHigh(), equalTo(12.5));
+            assertThat(hourBar.getVolume(), equalTo(12.0));
+            verify(historyUtilMock, never()).latestBarObservable(any());
+        }
+
+        @Test
+        public void incompleteWindowFallsBackToHistory() {
+            final IBar historyBar = mockForIBar(hourStart, 1.0, 2.0);
+            when(historyUtilMock.latestBarObservable(askBarEURUSDHourParams))
+                .thenReturn(Observable.just(historyBar));
+            pushFiveMinuteBars(11);
+
+            final IBar hourBar = barQuoteRepository
+                .get(askBarEURUSDHourParams)
+                .bar();
+
+            assertThat(hourBar, equalTo(historyBar));
+            verify(historyUtilMock).latestBarObservable(askBarEURUSDHourParams);
+        }
+
+        @Test
+        public void otherOfferSideIsNotUsedForRollup() {
+            final BarParams bidBarEURUSDHourParams = BarParams
+                .forInstrument(instrumentEURUSD)
+                .period(Period.ONE_HOUR)
+                .offerSide(OfferSide.BID);
+            final IBar historyBar = mockForIBar(hourStart, 1.0, 2.0);
+            when(historyUtilMock.latestBarObservable(bidBarEURUSDHourParams))
+                .thenReturn(Observable.just(historyBar));
+            pushFiveMinuteBars(12);
+
+            assertThat(barQuoteRepository.get(bidBarEURUSDHourParams).bar(), equalTo(historyBar));
+        }
+
+        @Test
+        public void rolledUpBarIsCachedWhileSourceBarIsUnchanged() {
+            pushFiveMinuteBars(12);
+
+            final IBar firstHourBar = barQuoteRepository
+                .get(askBarEURUSDHourParams)
+                .bar();
+
+            assertThat(barQuoteRepository.get(askBarEURUSDHourParams).bar(), sameInstance(firstHourBar));
+        }
+    }
+
+    public class RollupWindowLargerThanBufferCapacity {
+
+        private final long fourHourStart = 12 * 3600000L;
+        private final BarParams askBarEURUSDFourHourParams = BarParams
+            .forInstrument(instrumentEURUSD)
+            .period(Period.FOUR_HOURS)
+            .offerSide(OfferSide.ASK);
+        private final IBar historyBar = mockForIBar(fourHourStart, 1.0, 2.0);
+
+        @Before
+        public void setUp() {
+            when(historyUtilMock.latestBarObservable(askBarEURUSDFourHourParams))
+                .thenReturn(Observable.just(historyBar));
+            pushFiveMinuteBars(fourHourStart, 0, 1);
+        }
+
+        @Test
+        public void incompleteWindowFallsBackToHistory() {
+            assertThat(barQuoteRepository.get(askBarEURUSDFourHourParams).bar(), equalTo(historyBar));
+        }
+
+        @Test
+        public void sourceBufferIsGrownToHoldFullWindow() {
+            barQuoteRepository.get(askBarEURUSDFourHourParams);
+            pushFiveMinuteBars(fourHourStart, 1, 48);
+
+            final IBar fourHourBar = barQuoteRepository
+                .get(askBarEURUSDFourHourParams)
+                .bar();
+
+            assertThat(fourHourBar.getTime(), equalTo(fourHourStart));
+            assertThat(fourHourBar.getOpen(), equalTo(1.0));
+            assertThat(fourHourBar.getClose(), equalTo(48.5));
+            assertThat(fourHourBar.getVolume(), equalTo(48.0));
+        }
+    }
+
+    public class RollupWithDailyCandleOffset {
+
+        private final long candleOffset = 2 * 3600000L;
+        private final long dayStart = 5 * 86400000L + candleOffset;
+        private final BarParams askBarEURUSDDayParams = BarParams
+            .forInstrument(instrumentEURUSD)
+            .period(Period.DAILY)
+            .offerSide(OfferSide.ASK);
+
+        @Before
+        public void setUp() {
+            barQuoteRepository = new BarQuoteRepository(quoteObservable,
+                                                        historyUtilMock,
+                                                        30,
+                                                        candleOffset);
+            for (int i = 0; i < 24; ++i) {
+                final IBar bar = mockForIBar(dayStart + i * 3600000L, 1.0 + i, 1.5 + i);
+                quoteObservable.onNext(new BarQuote(bar, askBarEURUSDHourParams));
+            }
+        }
+
+        @Test
+        public void dayBarIsAlignedToCandleOffset() {
+            final IBar dayBar = barQuoteRepository
+                .get(askBarEURUSDDayParams)
+                .bar();
+
+            assertThat(dayBar.getTime(), equalTo(dayStart));
+            assertThat(dayBar.getOpen(), equalTo(1.0));
+            assertThat(dayBar.getClose(), equalTo(24.5));
+            verify(historyUtilMock, never()).latestBarObservable(any());
         }
     }
 }
@@ -0,0 +1,144 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ITick;
+import com.jforex.programming.quote.ConflatedTickStream;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ConflatedTickStreamTest extends QuoteProviderForTest {
+
+    private ConflatedTickStream conflatedTickStream;
+
+    private final Subject<TickQuote> quoteObservable = PublishSubject.create();
+    private final TestScheduler testScheduler = new TestScheduler();
+    private final TestObserver<TickQuote> subscriber = TestObserver.create();
+    private final ITick newTickEURUSD = mockForITick(1.1234, 1.1236);
+    private final TickQuote newTickQuoteEURUSD = new TickQuote(instrumentEURUSD, newTickEURUSD);
+
+    @Before
+    public void setUp() {
+        conflatedTickStream = new ConflatedTickStream(quoteObservable, testScheduler);
+
+        conflatedTickStream
+            .observable()
+            .subscribe(subscriber);
+    }
+
+    @Test
+    public void noTicksAreEmittedOnProducingThread() {
+        quoteObservable.onNext(tickQuoteEURUSD);
+
+        subscriber.assertNoValues();
+    }
+
+    @Test
+    public void tickIsEmittedWhenConsumerKeepsUp() {
+        quoteObservable.onNext(tickQuoteEURUSD);
+        testScheduler.triggerActions();
+        quoteObservable.onNext(newTickQuoteEURUSD);
+        testScheduler.triggerActions();
+
+        subscriber.assertValues(tickQuoteEURUSD, newTickQuoteEURUSD);
+        assertThat(conflatedTickStream.conflatedCount(), equalTo(0L));
+    }
+
+    public class WhenConsumerFallsBehind {
+
+        @Before
+        public void setUp() {
+            quoteObservable.onNext(tickQuoteEURUSD);
+            quoteObservable.onNext(tickQuoteAUDUSD);
+            quoteObservable.onNext(newTickQuoteEURUSD);
+
+            testScheduler.triggerActions();
+        }
+
+        @Test
+        public void onlyLatestTickPerInstrumentIsEmitted() {
+            subscriber.assertValues(newTickQuoteEURUSD, tickQuoteAUDUSD);
+        }
+
+        @Test
+        public void conflatedTicksAreCounted() {
+            assertThat(conflatedTickStream.conflatedCount(), equalTo(1L));
+            assertThat(conflatedTickStream.conflatedCount(instrumentEURUSD), equalTo(1L));
+            assertThat(conflatedTickStream.conflatedCount(instrumentAUDUSD), equalTo(0L));
+        }
+    }
+
+    @Test
+    public void completionIsForwardedAfterPendingTicks() {
+        quoteObservable.onNext(tickQuoteEURUSD);
+        quoteObservable.onComplete();
+
+        testScheduler.triggerActions();
+
+        subscriber.assertValue(tickQuoteEURUSD);
+        subscriber.assertComplete();
+    }
+
+    @Test
+    public void disposedSubscriberReceivesNoTicks() {
+        subscriber.dispose();
+
+        quoteObservable.onNext(tickQuoteEURUSD);
+        testScheduler.triggerActions();
+
+        subscriber.assertNoValues();
+    }
+
+    public class WhenSubscriberDisposesWithPendingDrain {
+
+        private final TestObserver<TickQuote> resubscriber = TestObserver.create();
+
+        @Before
+        public void setUp() {
+            quoteObservable.onNext(tickQuoteEURUSD);
+            quoteObservable.onNext(newTickQuoteEURUSD);
+            subscriber.dispose();
+            testScheduler.triggerActions();
+
+            conflatedTickStream
+                .observable()
+                .subscribe(resubscriber);
+        }
+
+        @Test
+        public void resubscriberReceivesNewTicks() {
+            quoteObservable.onNext(tickQuoteAUDUSD);
+            testScheduler.triggerActions();
+
+            resubscriber.assertValue(tickQuoteAUDUSD);
+            subscriber.assertNoValues();
+        }
+
+        @Test
+        public void conflatedCountsStartFreshForResubscriber() {
+            assertThat(conflatedTickStream.conflatedCount(), equalTo(0L));
+        }
+    }
+
+    @Test
+    public void secondConcurrentSubscriberIsRejected() {
+        final TestObserver<TickQuote> secondSubscriber = conflatedTickStream
+            .observable()
+            .test();
+
+        secondSubscriber.assertError(IllegalStateException.class);
+        subscriber.assertNoErrors();
+    }
+}
@@ -12,7 +12,7 @@ import org.junit.runner.RunWith;
 import com.dukascopy.api.Instrument;
 import com.google.common.collect.Sets;
 import com.jforex.programming.quote.TickQuote;
-import com.jforex.programming.quote.TickQuoteRepository;
+import com.jforex.programming.quote.MapTickQuoteRepository;
 import com.jforex.programming.test.common.QuoteProviderForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
@@ -21,9 +21,9 @@ import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 
 @RunWith(HierarchicalContextRunner.class)
-public class TickQuoteRepositoryTest extends QuoteProviderForTest {
+public class MapTickQuoteRepositoryTest extends QuoteProviderForTest {
 
-    private TickQuoteRepository tickQuoteRepository;
+    private MapTickQuoteRepository tickQuoteRepository;
 
     private final Subject<TickQuote> quoteObservable = PublishSubject.create();
     private final Set<Instrument> subscribedInstruments = Sets.newHashSet(instrumentEURUSD,
@@ -33,9 +33,9 @@ public class TickQuoteRepositoryTest extends QuoteProviderForTest {
     public void setUp() {
         setUpMocks();
 
-        tickQuoteRepository = new TickQuoteRepository(quoteObservable,
-                                                      historyUtilMock,
-                                                      subscribedInstruments);
+        tickQuoteRepository = new MapTickQuoteRepository(quoteObservable,
+                                                         historyUtilMock,
+                                                         subscribedInstruments);
     }
 
     private void setUpMocks() {
@@ -62,6 +62,30 @@ public class TickQuoteRepositoryTest extends QuoteProviderForTest {
                        equalTo(tickQuoteAUDUSD));
         }
 
+        @Test
+        public void askForEURUSDIsCorrect() {
+            assertThat(tickQuoteRepository.ask(instrumentEURUSD),
+                       equalTo(askEURUSD));
+        }
+
+        @Test
+        public void bidForEURUSDIsCorrect() {
+            assertThat(tickQuoteRepository.bid(instrumentEURUSD),
+                       equalTo(bidEURUSD));
+        }
+
+        @Test
+        public void notStoredQuoteIsFetchedFromHistory() {
+            when(historyUtilMock.lastestTickObservable(instrumentGBPAUD))
+                .thenReturn(Observable.just(tickEURUSD));
+
+            assertThat(tickQuoteRepository.get(instrumentGBPAUD).tick(),
+                       equalTo(tickEURUSD));
+            tickQuoteRepository.get(instrumentGBPAUD);
+
+            verify(historyUtilMock).lastestTickObservable(instrumentGBPAUD);
+        }
+
         public class AfterReceivedQuotes {
 
             @Before
@@ -78,6 +102,24 @@ public class TickQuoteRepositoryTest extends QuoteProviderForTest {
                            equalTo(tickQuoteEURUSD));
             }
 
+            @Test
+            public void lateHistoryQuoteDoesNotOverrideLiveQuote() {
+                final TickQuote liveQuote = new TickQuote(instrumentGBPAUD, tickEURUSD);
+                final TickQuote historyQuote = new TickQuote(instrumentGBPAUD, tickAUDUSD);
+                final Subject<TickQuote> historyObservable = PublishSubject.create();
+                final Set<Instrument> instruments = Sets.newHashSet(instrumentGBPAUD);
+                when(historyUtilMock.tickQuotesObservable(instruments))
+                    .thenReturn(historyObservable);
+                tickQuoteRepository = new MapTickQuoteRepository(quoteObservable,
+                                                                 historyUtilMock,
+                                                                 instruments);
+
+                quoteObservable.onNext(liveQuote);
+                historyObservable.onNext(historyQuote);
+
+                assertThat(tickQuoteRepository.get(instrumentGBPAUD), equalTo(liveQuote));
+            }
+
             @Test
             public void quoteForAUDUSDComesFromObservable() {
                 verifyNoMoreInteractions(historyMock);
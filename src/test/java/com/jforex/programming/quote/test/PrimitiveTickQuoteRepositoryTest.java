@@ -0,0 +1,153 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.google.common.collect.Sets;
+import com.jforex.programming.quote.PrimitiveTickQuoteRepository;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.Observable;
+
+@RunWith(HierarchicalContextRunner.class)
+public class PrimitiveTickQuoteRepositoryTest extends QuoteProviderForTest {
+
+    private PrimitiveTickQuoteRepository tickQuoteRepository;
+
+    private final Set<Instrument> subscribedInstruments = Sets.newHashSet(instrumentEURUSD,
+                                                                          instrumentAUDUSD);
+
+    @Before
+    public void setUp() {
+        setUpMocks();
+
+        tickQuoteRepository = new PrimitiveTickQuoteRepository(historyUtilMock,
+                                                               subscribedInstruments);
+    }
+
+    private void setUpMocks() {
+        when(historyUtilMock.tickQuotesObservable(subscribedInstruments))
+            .thenReturn(Observable.just(tickQuoteEURUSD, tickQuoteAUDUSD));
+    }
+
+    @Test
+    public void quotesForSubscribedInstrumentsComeFromHistory() {
+        verify(historyUtilMock).tickQuotesObservable(subscribedInstruments);
+    }
+
+    @Test
+    public void quoteForEURUSDIsMaterializedFromStoredTick() {
+        assertThat(tickQuoteRepository.get(instrumentEURUSD),
+                   equalTo(tickQuoteEURUSD));
+    }
+
+    @Test
+    public void askAndBidForAUDUSDAreCorrect() {
+        assertThat(tickQuoteRepository.ask(instrumentAUDUSD), equalTo(askAUDUSD));
+        assertThat(tickQuoteRepository.bid(instrumentAUDUSD), equalTo(bidAUDUSD));
+    }
+
+    @Test
+    public void quoteForUnchangedTickIsReused() {
+        assertThat(tickQuoteRepository.get(instrumentEURUSD),
+                   sameInstance(tickQuoteRepository.get(instrumentEURUSD)));
+    }
+
+    @Test
+    public void directTickUpdatesPrimitives() {
+        final ITick directTick = mockForITick(1.2001, 1.2003);
+
+        tickQuoteRepository.onTick(instrumentEURUSD, directTick);
+
+        assertThat(tickQuoteRepository.ask(instrumentEURUSD), equalTo(1.2003));
+        assertThat(tickQuoteRepository.bid(instrumentEURUSD), equalTo(1.2001));
+        assertThat(tickQuoteRepository.get(instrumentEURUSD).tick(), equalTo(directTick));
+    }
+
+    @Test
+    public void notStoredInstrumentHasNoTick() {
+        assertFalse(tickQuoteRepository.hasTick(instrumentGBPAUD));
+    }
+
+    public class NotStoredInstrumentFromHistory {
+
+        private final ITick tickGBPAUD = mockForITick(1.7654, 1.7658);
+
+        @Before
+        public void setUp() {
+            when(historyUtilMock.lastestTickObservable(instrumentGBPAUD))
+                .thenReturn(Observable.just(tickGBPAUD));
+        }
+
+        @Test
+        public void quoteIsFetchedFromHistory() {
+            assertThat(tickQuoteRepository.get(instrumentGBPAUD).tick(),
+                       equalTo(tickGBPAUD));
+            assertTrue(tickQuoteRepository.hasTick(instrumentGBPAUD));
+        }
+
+        @Test
+        public void timeIsFetchedFromHistory() {
+            when(tickGBPAUD.getTime()).thenReturn(7L);
+
+            assertThat(tickQuoteRepository.time(instrumentGBPAUD), equalTo(7L));
+            verify(historyUtilMock).lastestTickObservable(instrumentGBPAUD);
+        }
+
+        @Test
+        public void askIsFetchedFromHistoryOnlyOnce() {
+            assertThat(tickQuoteRepository.ask(instrumentGBPAUD), equalTo(1.7658));
+            assertThat(tickQuoteRepository.bid(instrumentGBPAUD), equalTo(1.7654));
+
+            verify(historyUtilMock).lastestTickObservable(instrumentGBPAUD);
+        }
+    }
+
+    public class AfterReceivedQuote {
+
+        private final ITick newTickEURUSD = mockForITick(1.1234, 1.1236);
+
+        @Before
+        public void setUp() {
+            when(newTickEURUSD.getTime()).thenReturn(42L);
+            when(newTickEURUSD.getAskVolume()).thenReturn(3.5);
+            when(newTickEURUSD.getBidVolume()).thenReturn(2.5);
+
+            tickQuoteRepository.onTick(instrumentEURUSD, newTickEURUSD);
+        }
+
+        @Test
+        public void primitivesAreUpdated() {
+            assertTrue(tickQuoteRepository.hasTick(instrumentEURUSD));
+            assertThat(tickQuoteRepository.ask(instrumentEURUSD), equalTo(1.1236));
+            assertThat(tickQuoteRepository.bid(instrumentEURUSD), equalTo(1.1234));
+            assertThat(tickQuoteRepository.askVolume(instrumentEURUSD), equalTo(3.5));
+            assertThat(tickQuoteRepository.bidVolume(instrumentEURUSD), equalTo(2.5));
+            assertThat(tickQuoteRepository.time(instrumentEURUSD), equalTo(42L));
+        }
+
+        @Test
+        public void quoteViewContainsNewTick() {
+            assertThat(tickQuoteRepository.get(instrumentEURUSD).tick(),
+                       equalTo(newTickEURUSD));
+        }
+
+        @Test
+        public void otherInstrumentIsNotAffected() {
+            assertThat(tickQuoteRepository.get(instrumentAUDUSD),
+                       equalTo(tickQuoteAUDUSD));
+        }
+    }
+}
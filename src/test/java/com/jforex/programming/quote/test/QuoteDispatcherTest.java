@@ -0,0 +1,131 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.Instrument;
+import com.google.common.collect.Lists;
+import com.jforex.programming.quote.QuoteDispatcher;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class QuoteDispatcherTest extends QuoteProviderForTest {
+
+    private QuoteDispatcher<Instrument, TickQuote> quoteDispatcher;
+
+    private final Subject<TickQuote> quoteObservable = PublishSubject.create();
+    private final TestObserver<TickQuote> subscriberEURUSD = TestObserver.create();
+    private final TestObserver<TickQuote> subscriberEURUSDAndAUDUSD = TestObserver.create();
+
+    @Before
+    public void setUp() {
+        quoteDispatcher = new QuoteDispatcher<>(quoteObservable, TickQuote::instrument);
+
+        quoteDispatcher
+            .observableForKeys(Lists.newArrayList(instrumentEURUSD, instrumentEURUSD))
+            .subscribe(subscriberEURUSD);
+        quoteDispatcher
+            .observableForKeys(Lists.newArrayList(instrumentEURUSD, instrumentAUDUSD))
+            .subscribe(subscriberEURUSDAndAUDUSD);
+    }
+
+    @Test
+    public void routesAreRegisteredPerKey() {
+        assertThat(quoteDispatcher.noOfRoutes(instrumentEURUSD), equalTo(2));
+        assertThat(quoteDispatcher.noOfRoutes(instrumentAUDUSD), equalTo(1));
+        assertThat(quoteDispatcher.noOfRoutes(instrumentGBPAUD), equalTo(0));
+    }
+
+    @Test
+    public void quotesAreRoutedOnlyToRequestingSubscribers() {
+        quoteObservable.onNext(tickQuoteEURUSD);
+        quoteObservable.onNext(tickQuoteAUDUSD);
+
+        subscriberEURUSD.assertValue(tickQuoteEURUSD);
+        subscriberEURUSDAndAUDUSD.assertValues(tickQuoteEURUSD, tickQuoteAUDUSD);
+    }
+
+    @Test
+    public void disposedSubscriberIsRemovedFromRoutes() {
+        subscriberEURUSD.dispose();
+
+        quoteObservable.onNext(tickQuoteEURUSD);
+
+        assertThat(quoteDispatcher.noOfRoutes(instrumentEURUSD), equalTo(1));
+        subscriberEURUSD.assertNoValues();
+        subscriberEURUSDAndAUDUSD.assertValue(tickQuoteEURUSD);
+    }
+
+    @Test
+    public void lastDisposedSubscriberOfKeyRemovesKey() {
+        subscriberEURUSDAndAUDUSD.dispose();
+
+        assertThat(quoteDispatcher.noOfRoutes(instrumentAUDUSD), equalTo(0));
+        assertTrue(quoteDispatcher.isConnected());
+    }
+
+    public class AfterAllSubscribersDisposed {
+
+        @Before
+        public void setUp() {
+            subscriberEURUSD.dispose();
+            subscriberEURUSDAndAUDUSD.dispose();
+        }
+
+        @Test
+        public void quoteObservableIsDisconnected() {
+            assertFalse(quoteDispatcher.isConnected());
+            assertFalse(quoteObservable.hasObservers());
+        }
+
+        @Test
+        public void newSubscriberReconnects() {
+            final TestObserver<TickQuote> newSubscriber = TestObserver.create();
+
+            quoteDispatcher
+                .observableForKeys(Lists.newArrayList(instrumentAUDUSD))
+                .subscribe(newSubscriber);
+            quoteObservable.onNext(tickQuoteAUDUSD);
+
+            assertTrue(quoteDispatcher.isConnected());
+            newSubscriber.assertValue(tickQuoteAUDUSD);
+        }
+    }
+
+    public class AfterQuoteObservableCompleted {
+
+        @Before
+        public void setUp() {
+            quoteObservable.onComplete();
+        }
+
+        @Test
+        public void subscribersAreCompleted() {
+            subscriberEURUSD.assertComplete();
+            subscriberEURUSDAndAUDUSD.assertComplete();
+        }
+
+        @Test
+        public void lateSubscriberIsCompletedImmediately() {
+            final TestObserver<TickQuote> lateSubscriber = TestObserver.create();
+
+            quoteDispatcher
+                .observableForKeys(Lists.newArrayList(instrumentAUDUSD))
+                .subscribe(lateSubscriber);
+
+            lateSubscriber.assertComplete();
+        }
+    }
+}
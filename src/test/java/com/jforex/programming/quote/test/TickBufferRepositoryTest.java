@@ -0,0 +1,85 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.quote.TickBuffer;
+import com.jforex.programming.quote.TickBufferRepository;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class TickBufferRepositoryTest extends QuoteProviderForTest {
+
+    private TickBufferRepository tickBufferRepository;
+
+    private final Subject<TickQuote> quoteObservable = PublishSubject.create();
+    private final int capacity = 5;
+
+    @Before
+    public void setUp() {
+        tickBufferRepository = new TickBufferRepository(quoteObservable, capacity);
+    }
+
+    @Test
+    public void capacityIsCorrect() {
+        assertThat(tickBufferRepository.capacity(), equalTo(capacity));
+    }
+
+    @Test
+    public void noMemoryIsUsedBeforeTicksArrive() {
+        assertThat(tickBufferRepository.memoryInBytes(instrumentEURUSD), equalTo(0L));
+        assertTrue(tickBufferRepository.memoryInBytesByInstrument().isEmpty());
+    }
+
+    @Test
+    public void bufferIsCreatedOnceForInstrument() {
+        final TickBuffer buffer = tickBufferRepository.buffer(instrumentEURUSD);
+
+        assertThat(tickBufferRepository.buffer(instrumentEURUSD), sameInstance(buffer));
+        assertThat(buffer.capacity(), equalTo(capacity));
+    }
+
+    public class AfterReceivedQuotes {
+
+        @Before
+        public void setUp() {
+            quoteObservable.onNext(tickQuoteEURUSD);
+            quoteObservable.onNext(tickQuoteEURUSD);
+            quoteObservable.onNext(tickQuoteAUDUSD);
+        }
+
+        @Test
+        public void ticksAreAppendedToInstrumentBuffer() {
+            assertThat(tickBufferRepository.buffer(instrumentEURUSD).size(), equalTo(2));
+            assertThat(tickBufferRepository.buffer(instrumentAUDUSD).size(), equalTo(1));
+        }
+
+        @Test
+        public void latestAskIsBuffered() {
+            assertThat(tickBufferRepository.buffer(instrumentAUDUSD).ask(0), equalTo(askAUDUSD));
+        }
+
+        @Test
+        public void memoryIsReportedPerInstrument() {
+            final Map<Instrument, Long> memoryByInstrument = tickBufferRepository.memoryInBytesByInstrument();
+
+            assertThat(memoryByInstrument.size(), equalTo(2));
+            assertThat(memoryByInstrument.get(instrumentEURUSD),
+                       equalTo(tickBufferRepository.memoryInBytes(instrumentEURUSD)));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ITick;
+import com.google.common.collect.Lists;
+import com.jforex.programming.quote.TickBuffer;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+
+@RunWith(HierarchicalContextRunner.class)
+public class TickBufferTest extends QuoteProviderForTest {
+
+    private TickBuffer tickBuffer;
+
+    private final int capacity = 3;
+    private final List<Long> visitedTimes = Lists.newArrayList();
+
+    @Before
+    public void setUp() {
+        tickBuffer = new TickBuffer(instrumentEURUSD, capacity);
+    }
+
+    private ITick tickForTime(final long time) {
+        final ITick tick = mockForITick(time / 10.0, time / 10.0 + 0.1);
+        when(tick.getTime()).thenReturn(time);
+        when(tick.getBidVolume()).thenReturn(1.0);
+        when(tick.getAskVolume()).thenReturn(2.0);
+
+        return tick;
+    }
+
+    private void appendTicks(final long... times) {
+        for (final long time : times)
+            tickBuffer.append(tickForTime(time));
+    }
+
+    private void visitWindow(final int noOfTicks) {
+        tickBuffer.forWindow(noOfTicks, (time, bid, ask, bidVolume, askVolume) -> visitedTimes.add(time));
+    }
+
+    @Test
+    public void bufferIsInitiallyEmpty() {
+        assertThat(tickBuffer.size(), equalTo(0));
+        assertThat(tickBuffer.capacity(), equalTo(capacity));
+        assertThat(tickBuffer.instrument(), equalTo(instrumentEURUSD));
+    }
+
+    @Test
+    public void memoryIsReportedForCapacity() {
+        assertThat(tickBuffer.memoryInBytes(), equalTo(capacity * 40L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroCapacityIsNotAllowed() {
+        new TickBuffer(instrumentEURUSD, 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void accessOnEmptyBufferThrows() {
+        tickBuffer.ask(0);
+    }
+
+    public class TwoTicksAppended {
+
+        @Before
+        public void setUp() {
+            appendTicks(10L, 20L);
+        }
+
+        @Test
+        public void sizeIsTwo() {
+            assertThat(tickBuffer.size(), equalTo(2));
+        }
+
+        @Test
+        public void shiftZeroIsLatestTick() {
+            assertThat(tickBuffer.time(0), equalTo(20L));
+            assertThat(tickBuffer.bid(0), equalTo(2.0));
+            assertThat(tickBuffer.ask(0), equalTo(2.1));
+            assertThat(tickBuffer.bidVolume(0), equalTo(1.0));
+            assertThat(tickBuffer.askVolume(0), equalTo(2.0));
+        }
+
+        @Test
+        public void shiftOneIsPreviousTick() {
+            assertThat(tickBuffer.time(1), equalTo(10L));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void shiftBeyondSizeThrows() {
+            tickBuffer.time(2);
+        }
+
+        @Test
+        public void forEachVisitsFromOldestToLatest() {
+            tickBuffer.forEach((time, bid, ask, bidVolume, askVolume) -> visitedTimes.add(time));
+
+            assertThat(visitedTimes, equalTo(Arrays.asList(10L, 20L)));
+        }
+
+        public class WhenCapacityIsExceeded {
+
+            @Before
+            public void setUp() {
+                appendTicks(30L, 40L);
+            }
+
+            @Test
+            public void sizeIsBoundedByCapacity() {
+                assertThat(tickBuffer.size(), equalTo(capacity));
+            }
+
+            @Test
+            public void oldestTickIsOverwritten() {
+                assertThat(tickBuffer.time(0), equalTo(40L));
+                assertThat(tickBuffer.time(2), equalTo(20L));
+            }
+
+            @Test
+            public void visitorMayAppendAndOverwrittenTicksAreSkipped() {
+                tickBuffer.forEach((time, bid, ask, bidVolume, askVolume) -> {
+                    if (visitedTimes.isEmpty())
+                        appendTicks(50L, 60L);
+                    visitedTimes.add(time);
+                });
+
+                assertThat(visitedTimes, equalTo(Arrays.asList(20L, 40L)));
+                assertThat(tickBuffer.time(0), equalTo(60L));
+            }
+
+            @Test
+            public void windowVisitsLatestTicks() {
+                visitWindow(2);
+
+                assertThat(visitedTimes, equalTo(Arrays.asList(30L, 40L)));
+            }
+
+            @Test
+            public void windowLargerThanSizeVisitsAllTicks() {
+                visitWindow(10);
+
+                assertThat(visitedTimes, equalTo(Arrays.asList(20L, 30L, 40L)));
+            }
+        }
+    }
+}
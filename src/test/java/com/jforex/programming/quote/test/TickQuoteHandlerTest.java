@@ -16,6 +16,7 @@ import com.jforex.programming.test.common.QuoteProviderForTest;
 
 import io.reactivex.Observable;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
 
 public class TickQuoteHandlerTest extends QuoteProviderForTest {
 
@@ -52,6 +53,10 @@ public class TickQuoteHandlerTest extends QuoteProviderForTest {
             .thenReturn(tickQuoteEURUSD);
         when(tickQuoteRepositoryMock.get(instrumentAUDUSD))
             .thenReturn(tickQuoteAUDUSD);
+        when(tickQuoteRepositoryMock.ask(instrumentEURUSD))
+            .thenReturn(askEURUSD);
+        when(tickQuoteRepositoryMock.bid(instrumentEURUSD))
+            .thenReturn(bidEURUSD);
     }
 
     private void assertCommonEmittedTicks(final TestObserver<TickQuote> subscriber) {
@@ -94,6 +99,18 @@ public class TickQuoteHandlerTest extends QuoteProviderForTest {
                    equalTo(tickEURUSD.getBid()));
     }
 
+    @Test
+    public void conflatedStreamEmitsOnGivenScheduler() {
+        final TestObserver<TickQuote> conflatedSubscriber = TestObserver.create();
+
+        tickQuoteHandler
+            .conflatedStream(Schedulers.trampoline())
+            .observable()
+            .subscribe(conflatedSubscriber);
+
+        assertCommonEmittedTicks(conflatedSubscriber);
+    }
+
     @Test
     public void ticksAreEmitted() {
         assertCommonEmittedTicks(quoteEURUSDAndAUDUSDSubscriber);